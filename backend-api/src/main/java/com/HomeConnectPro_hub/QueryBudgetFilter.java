@@ -0,0 +1,80 @@
+package com.HomeConnectPro_hub;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ============================================================================
+ * Query Budget Filter - per-endpoint SQL statement count
+ * ============================================================================
+ *
+ * Counts the statements each /api request runs (JSON serialization included,
+ * since lazy associations load while the response is written) and reports any
+ * endpoint that goes over jpa.query-budget.per-request. An N+1 regression shows
+ * up as a count that grows with the number of rows returned.
+ *
+ * With jpa.query-budget.strict=true the statement that goes over budget fails
+ * instead, so the regression fails the request rather than only logging.
+ *
+ * Only registered with the dev profile (local and load-test runs); the build
+ * asserts each hot endpoint's statement count in QueryCountTest.
+ */
+@Component
+@Profile("dev")
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryCounter queryCounter;
+    private final int budget;
+    private final boolean strict;
+
+    // Highest count seen per endpoint, so a warning is only printed when it grows
+    private final Map<String, Integer> peakByEndpoint = new ConcurrentHashMap<>();
+
+    public QueryBudgetFilter(QueryCounter queryCounter,
+                             @Value("${jpa.query-budget.per-request:10}") int budget,
+                             @Value("${jpa.query-budget.strict:false}") boolean strict) {
+        this.queryCounter = queryCounter;
+        this.budget = budget;
+        this.strict = strict;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        queryCounter.start(strict ? budget : 0);
+        int statements;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements = queryCounter.stop();
+        }
+
+        if (statements <= budget) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        Integer previousPeak = peakByEndpoint.put(endpoint, Math.max(statements,
+                peakByEndpoint.getOrDefault(endpoint, 0)));
+        if (previousPeak == null || statements > previousPeak) {
+            System.err.println("Query budget exceeded: " + endpoint + " ran " + statements
+                    + " statements (budget " + budget + ")");
+        }
+    }
+}
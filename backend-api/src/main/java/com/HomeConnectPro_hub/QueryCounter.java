@@ -0,0 +1,57 @@
+package com.HomeConnectPro_hub;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's statement inspector; QueryCountTest opens a count
+ * around each request it makes, and with the dev profile QueryBudgetFilter
+ * does the same for every API request. Nothing is counted otherwise.
+ * With a limit, the statement that goes over it is refused instead of run.
+ */
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    // [statements so far, limit or 0 for none]
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null && ++count[0] > count[1] && count[1] > 0) {
+            throw new IllegalStateException("Query budget of " + count[1] + " statements exceeded");
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on this thread
+     *
+     * @param limit statements allowed before inspect() starts refusing them, 0 for no limit
+     */
+    public void start(int limit) {
+        COUNT.set(new int[] {0, limit});
+    }
+
+    /**
+     * Stop counting on this thread
+     *
+     * @return statements prepared since start()
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return (count == null) ? 0 : count[0];
+    }
+}
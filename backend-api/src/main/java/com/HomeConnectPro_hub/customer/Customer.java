@@ -27,6 +27,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Table(name = "customer")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Customer {
     
     // Primary key
@@ -56,6 +57,14 @@ public class Customer {
     @Column(nullable = false)
     private String address;
     
+    // Geocoded coordinates of the address, filled in when the address changes
+    private Double latitude;
+    
+    private Double longitude;
+    
+    @Column(name = "geocoded_at")
+    private LocalDateTime geocodedAt;
+    
     @NotBlank(message = "Password is required")
     @Column(nullable = false)
     private String password;
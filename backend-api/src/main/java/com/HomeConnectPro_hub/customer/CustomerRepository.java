@@ -1,8 +1,12 @@
 package com.HomeConnectPro_hub.customer;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +47,15 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * Check if phone number exists
      */
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+    
+    /**
+     * Find customers whose address has not been geocoded yet (for the backfill job)
+     */
+    List<Customer> findByGeocodedAtIsNullAndAddressIsNotNullAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    
+    /**
+     * The subset of the given IDs that exist (one query for a whole batch)
+     */
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
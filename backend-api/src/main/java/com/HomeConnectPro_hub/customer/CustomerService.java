@@ -1,11 +1,18 @@
 package com.HomeConnectPro_hub.customer;
 
+import com.HomeConnectPro_hub.location.GeocodingPipeline;
+import com.HomeConnectPro_hub.review.RatingSummaryService;
+import com.HomeConnectPro_hub.subscription.SubscriptionMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -13,6 +20,9 @@ import java.util.List;
 public class CustomerService {
     
     private final CustomerRepository customerRepository;
+    private final GeocodingPipeline geocodingPipeline;
+    private final RatingSummaryService ratingSummaryService;
+    private final SubscriptionMembershipIndex subscriptionMembershipIndex;
     
     /**
      * Create new customer (Use Case 2.2.2.1 - Sign Up)
@@ -29,8 +39,11 @@ public class CustomerService {
             customerRepository.existsByPhoneNumber(customer.getPhoneNumber())) {
             throw new RuntimeException("Phone number already in use: " + customer.getPhoneNumber());
         }
+        clearCoordinates(customer);
         // Saves customer to database
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        geocodingPipeline.enqueueCustomer(saved.getId(), saved.getAddress());
+        return saved;
     }
     
     /**
@@ -63,6 +76,7 @@ public class CustomerService {
     @SuppressWarnings("null")
     public Customer updateCustomerProfile(@NonNull Long id, @NonNull UpdateCustomerDTO updateDTO) {
         Customer customer = getCustomerById(id);
+        String previousAddress = customer.getAddress();
         
         // Update only provided fields
         if (updateDTO.getFirstName() != null && !updateDTO.getFirstName().trim().isEmpty()) {
@@ -104,6 +118,12 @@ public class CustomerService {
             customer.setPassword(updateDTO.getPassword());
         }
         
+        // Re-geocode only when the address actually changed
+        if (!Objects.equals(previousAddress, customer.getAddress())) {
+            clearCoordinates(customer);
+            geocodingPipeline.enqueueCustomer(id, customer.getAddress());
+        }
+        
         return customerRepository.save(customer);
     }
     
@@ -113,6 +133,7 @@ public class CustomerService {
      */
     public Customer updateCustomer(@NonNull Long id, @NonNull Customer customerDetails) {
         Customer customer = getCustomerById(id);
+        String previousAddress = customer.getAddress();
         
         // Update basic information
         customer.setFirstName(customerDetails.getFirstName());
@@ -133,9 +154,24 @@ public class CustomerService {
             customer.setPassword(customerDetails.getPassword());
         }
         
+        if (!Objects.equals(previousAddress, customer.getAddress())) {
+            clearCoordinates(customer);
+            geocodingPipeline.enqueueCustomer(id, customer.getAddress());
+        }
+        
         return customerRepository.save(customer);
     }
     
+    /**
+     * Drop stored coordinates when the address changes
+     * The geocoding pipeline fills them back in off the request path
+     */
+    private void clearCoordinates(Customer customer) {
+        customer.setLatitude(null);
+        customer.setLongitude(null);
+        customer.setGeocodedAt(null);
+    }
+    
     /**
      * Search customers by first name
      */
@@ -172,7 +208,9 @@ public class CustomerService {
     @SuppressWarnings("null")
     public void deleteCustomer(@NonNull Long id) {
         Customer customer = getCustomerById(id);
+        ratingSummaryService.reviewsRemoved(customer.getReviews());
         customerRepository.delete(customer);
+        subscriptionMembershipIndex.customerDeleted(id);
     }
     
     /**
@@ -182,6 +220,13 @@ public class CustomerService {
         return customerRepository.existsById(id);
     }
     
+    /**
+     * The subset of the given customer IDs that exist
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return ids.isEmpty() ? Set.of() : new HashSet<>(customerRepository.findExistingIds(ids));
+    }
+    
     /**
      * Verify customer credentials (for login validation)
      * Note: In production, use encrypted passwords with BCrypt
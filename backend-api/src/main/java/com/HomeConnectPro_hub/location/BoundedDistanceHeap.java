@@ -0,0 +1,106 @@
+package com.HomeConnectPro_hub.location;
+
+/**
+ * Fixed-capacity max-heap of (id, distance) pairs held in primitive arrays.
+ * 
+ * Keeps the K smallest distances offered to it: each offer is O(log k) and the
+ * heap never allocates beyond its initial two arrays, so selecting the K nearest
+ * of n candidates costs O(n log k) time and O(k) memory.
+ */
+public class BoundedDistanceHeap {
+
+    private final long[] ids;
+    private final double[] distances;
+    private int size;
+
+    public BoundedDistanceHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.ids = new long[capacity];
+        this.distances = new double[capacity];
+    }
+
+    /**
+     * Offer a candidate; it is kept only if it is among the K nearest seen so far
+     */
+    public void offer(long id, double distance) {
+        if (size < ids.length) {
+            ids[size] = id;
+            distances[size] = distance;
+            siftUp(size++);
+        } else if (distance < distances[0]) {
+            ids[0] = id;
+            distances[0] = distance;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Largest distance currently kept, or +infinity while the heap is not full
+     */
+    public double worstDistance() {
+        return size < ids.length ? Double.POSITIVE_INFINITY : distances[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Heap-sort the contents in place into ascending distance order and return them.
+     * The heap is empty afterwards.
+     */
+    public ServiceSpatialIndex.Hit[] drainSorted() {
+        int count = size;
+        for (int end = count - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        ServiceSpatialIndex.Hit[] result = new ServiceSpatialIndex.Hit[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new ServiceSpatialIndex.Hit(ids[i], distances[i]);
+        }
+        size = 0;
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distances[parent] >= distances[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int limit) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= limit) {
+                return;
+            }
+            int largest = left;
+            int right = left + 1;
+            if (right < limit && distances[right] > distances[left]) {
+                largest = right;
+            }
+            if (distances[index] >= distances[largest]) {
+                return;
+            }
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+}
@@ -0,0 +1,34 @@
+package com.HomeConnectPro_hub.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body for POST /api/location/distance-matrix
+ * Each point is given by exactly one of address, customerId or providerId
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceMatrixRequest {
+
+    private List<Point> origins = new ArrayList<>();
+
+    private List<Point> destinations = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+
+        private String address;
+
+        private Long customerId;
+
+        private Long providerId;
+    }
+}
@@ -0,0 +1,284 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.customer.Customer;
+import com.HomeConnectPro_hub.customer.CustomerRepository;
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * ============================================================================
+ * Distance Matrix Service - many origins against many destinations
+ * ============================================================================
+ *
+ * 1. Customers and providers given by ID are loaded in one query each and use
+ *    their stored coordinates
+ * 2. Every remaining unique address is geocoded once, concurrently
+ * 3. Each origin's row is computed with the bulk haversine kernel; large
+ *    matrices compute rows in parallel, in blocks, and can be streamed out
+ *    block by block instead of being held in memory
+ */
+@Service
+public class DistanceMatrixService {
+
+    private static final int ROWS_PER_BLOCK = 64;
+
+    private final LocationService locationService;
+    private final CustomerRepository customerRepository;
+    private final ProviderRepository providerRepository;
+    private final ObjectMapper objectMapper;
+    private final long maxCells;
+    private final long parallelThreshold;
+
+    public DistanceMatrixService(LocationService locationService,
+                                 CustomerRepository customerRepository,
+                                 ProviderRepository providerRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${location.distance-matrix.max-cells:1000000}") long maxCells,
+                                 @Value("${location.distance-matrix.parallel-threshold:10000}") long parallelThreshold) {
+        this.locationService = locationService;
+        this.customerRepository = customerRepository;
+        this.providerRepository = providerRepository;
+        this.objectMapper = objectMapper;
+        this.maxCells = maxCells;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Resolve every origin and destination to coordinates
+     *
+     * @throws IllegalArgumentException if a point is malformed or the matrix is too large
+     */
+    public Matrix resolve(DistanceMatrixRequest request) {
+        List<DistanceMatrixRequest.Point> origins = request.getOrigins();
+        List<DistanceMatrixRequest.Point> destinations = request.getDestinations();
+        if (origins == null || origins.isEmpty() || destinations == null || destinations.isEmpty()) {
+            throw new IllegalArgumentException("Both 'origins' and 'destinations' are required");
+        }
+        if ((long) origins.size() * destinations.size() > maxCells) {
+            throw new IllegalArgumentException("Matrix exceeds " + maxCells + " cells");
+        }
+
+        List<DistanceMatrixRequest.Point> all = new ArrayList<>(origins);
+        all.addAll(destinations);
+
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> providerIds = new HashSet<>();
+        for (DistanceMatrixRequest.Point point : all) {
+            validate(point);
+            if (point.getCustomerId() != null) {
+                customerIds.add(point.getCustomerId());
+            } else if (point.getProviderId() != null) {
+                providerIds.add(point.getProviderId());
+            }
+        }
+
+        Map<Long, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(customerIds).forEach(customer -> customers.put(customer.getId(), customer));
+        Map<Long, Provider> providers = new HashMap<>();
+        providerRepository.findAllById(providerIds).forEach(provider -> providers.put(provider.getId(), provider));
+
+        // Stored coordinates first; everything else is geocoded once per unique address
+        Map<DistanceMatrixRequest.Point, LocationService.GeoLocation> located = new HashMap<>();
+        Map<DistanceMatrixRequest.Point, String> pending = new LinkedHashMap<>();
+        for (DistanceMatrixRequest.Point point : all) {
+            String address;
+            Double latitude = null;
+            Double longitude = null;
+            if (point.getCustomerId() != null) {
+                Customer customer = customers.get(point.getCustomerId());
+                address = (customer != null) ? customer.getAddress() : null;
+                if (customer != null) {
+                    latitude = customer.getLatitude();
+                    longitude = customer.getLongitude();
+                }
+            } else if (point.getProviderId() != null) {
+                Provider provider = providers.get(point.getProviderId());
+                address = (provider != null) ? provider.getAddress() : null;
+                if (provider != null) {
+                    latitude = provider.getLatitude();
+                    longitude = provider.getLongitude();
+                }
+            } else {
+                address = point.getAddress();
+            }
+
+            if (latitude != null && longitude != null) {
+                located.put(point, new LocationService.GeoLocation(latitude, longitude, address));
+            } else if (address != null && !address.trim().isEmpty()) {
+                pending.put(point, address);
+            }
+        }
+        if (!pending.isEmpty()) {
+            Map<String, LocationService.GeoLocation> geocoded = locationService.geocodeAll(new HashSet<>(pending.values()));
+            pending.forEach((point, address) -> {
+                LocationService.GeoLocation location = geocoded.get(address);
+                if (location != null) {
+                    located.put(point, location);
+                }
+            });
+        }
+
+        return new Matrix(Points.of(origins, located), Points.of(destinations, located));
+    }
+
+    /**
+     * Compute the full matrix in memory
+     *
+     * @return distancesMiles[origin][destination], null where either side couldn't be located
+     */
+    public List<List<Double>> computeAll(Matrix matrix) {
+        List<List<Double>> rows = new ArrayList<>(matrix.origins().size());
+        for (int from = 0; from < matrix.origins().size(); from += ROWS_PER_BLOCK) {
+            rows.addAll(computeBlock(matrix, from));
+        }
+        return rows;
+    }
+
+    /**
+     * Stream the matrix as newline-delimited JSON: one header line describing the
+     * points, then one line per origin row, computed and flushed a block at a time
+     */
+    public void writeNdjson(Matrix matrix, OutputStream out) throws IOException {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("origins", matrix.origins().describe());
+        header.put("destinations", matrix.destinations().describe());
+        writeLine(out, header);
+
+        for (int from = 0; from < matrix.origins().size(); from += ROWS_PER_BLOCK) {
+            List<List<Double>> block = computeBlock(matrix, from);
+            for (int i = 0; i < block.size(); i++) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("origin", from + i);
+                row.put("distancesMiles", block.get(i));
+                writeLine(out, row);
+            }
+            out.flush();
+        }
+    }
+
+    private List<List<Double>> computeBlock(Matrix matrix, int from) {
+        int to = Math.min(matrix.origins().size(), from + ROWS_PER_BLOCK);
+        Points destinations = matrix.destinations();
+        IntStream rows = IntStream.range(from, to);
+        if ((long) matrix.origins().size() * destinations.size() >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+        return rows.mapToObj(origin -> row(matrix.origins(), origin, destinations)).toList();
+    }
+
+    private static List<Double> row(Points origins, int origin, Points destinations) {
+        int n = destinations.size();
+        List<Double> row = new ArrayList<>(n);
+        double latitude = origins.latitudes[origin];
+        if (Double.isNaN(latitude)) {
+            for (int i = 0; i < n; i++) {
+                row.add(null);
+            }
+            return row;
+        }
+
+        double[] distances = new double[n];
+        HaversineKernel.distances(latitude, origins.longitudes[origin],
+                destinations.latitudes, destinations.longitudes, n, distances);
+        for (double distance : distances) {
+            // Unlocated destinations carry NaN coordinates, so their distance is NaN too
+            row.add(Double.isNaN(distance) ? null : Math.round(distance * 10.0) / 10.0);
+        }
+        return row;
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    private static void validate(DistanceMatrixRequest.Point point) {
+        if (point == null) {
+            throw new IllegalArgumentException("Points must not be null");
+        }
+        int given = (point.getAddress() != null ? 1 : 0)
+                + (point.getCustomerId() != null ? 1 : 0)
+                + (point.getProviderId() != null ? 1 : 0);
+        if (given != 1) {
+            throw new IllegalArgumentException("Each point needs exactly one of address, customerId or providerId");
+        }
+    }
+
+    /**
+     * Origins and destinations resolved for one request
+     */
+    public record Matrix(Points origins, Points destinations) {
+    }
+
+    /**
+     * Resolved points as parallel coordinate arrays (NaN where unresolved),
+     * the layout HaversineKernel works on
+     */
+    public static final class Points {
+
+        private final List<DistanceMatrixRequest.Point> points;
+        private final double[] latitudes;
+        private final double[] longitudes;
+
+        private Points(List<DistanceMatrixRequest.Point> points, double[] latitudes, double[] longitudes) {
+            this.points = points;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+        }
+
+        static Points of(List<DistanceMatrixRequest.Point> points,
+                         Map<DistanceMatrixRequest.Point, LocationService.GeoLocation> located) {
+            double[] latitudes = new double[points.size()];
+            double[] longitudes = new double[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                LocationService.GeoLocation location = located.get(points.get(i));
+                latitudes[i] = (location != null) ? location.getLatitude() : Double.NaN;
+                longitudes[i] = (location != null) ? location.getLongitude() : Double.NaN;
+            }
+            return new Points(points, latitudes, longitudes);
+        }
+
+        public int size() {
+            return points.size();
+        }
+
+        /**
+         * The request's points echoed back with their coordinates (or resolved=false)
+         */
+        public List<Map<String, Object>> describe() {
+            List<Map<String, Object>> described = new ArrayList<>(points.size());
+            for (int i = 0; i < points.size(); i++) {
+                DistanceMatrixRequest.Point point = points.get(i);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                if (point.getAddress() != null) {
+                    entry.put("address", point.getAddress());
+                } else if (point.getCustomerId() != null) {
+                    entry.put("customerId", point.getCustomerId());
+                } else {
+                    entry.put("providerId", point.getProviderId());
+                }
+                entry.put("resolved", !Double.isNaN(latitudes[i]));
+                if (!Double.isNaN(latitudes[i])) {
+                    entry.put("latitude", latitudes[i]);
+                    entry.put("longitude", longitudes[i]);
+                }
+                described.add(entry);
+            }
+            return described;
+        }
+    }
+}
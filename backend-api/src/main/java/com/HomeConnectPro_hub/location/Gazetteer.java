@@ -0,0 +1,395 @@
+package com.HomeConnectPro_hub.location;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ============================================================================
+ * Gazetteer - offline ZIP and city centroid lookup
+ * ============================================================================
+ *
+ * Loads a bundled place list (location.gazetteer.path) into two compact
+ * in-memory indexes and resolves addresses without any network call:
+ * 1. ZIP codes: open-addressing hash table over int keys with float coordinates
+ * 2. City names: character trie, so every word position of an address can be
+ *    matched against all city names in a single walk
+ *
+ * A ZIP in the address wins; otherwise the right-most city name is used, with
+ * the state taken from the address or location.gazetteer.default-state.
+ *
+ * Accepts its own format (zip, city, state, latitude, longitude; tab separated)
+ * or a GeoNames postal-code export.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Set<String> STATE_CODES = Set.of(
+            "al", "ak", "az", "ar", "ca", "co", "ct", "de", "dc", "fl", "ga", "hi", "id", "il", "in",
+            "ia", "ks", "ky", "la", "me", "md", "ma", "mi", "mn", "ms", "mo", "mt", "ne", "nv", "nh",
+            "nj", "nm", "ny", "nc", "nd", "oh", "ok", "or", "pa", "ri", "sc", "sd", "tn", "tx", "ut",
+            "vt", "va", "wa", "wv", "wi", "wy");
+
+    private final String defaultState;
+
+    // ZIP table: key is zip + 1 so that 0 marks an empty slot
+    private int[] zipKeys = new int[0];
+    private float[] zipLatitudes = new float[0];
+    private float[] zipLongitudes = new float[0];
+    private int zipCount;
+
+    // Places: one entry per (city, state); places sharing a name are chained through placeNext
+    private String[] placeStates = new String[0];
+    private float[] placeLatitudes = new float[0];
+    private float[] placeLongitudes = new float[0];
+    private int[] placeNext = new int[0];
+
+    // Trie nodes: first-child / next-sibling layout; nodePlace is the head of the place chain or -1
+    private char[] nodeChars = new char[64];
+    private int[] nodeFirstChild = new int[64];
+    private int[] nodeNextSibling = new int[64];
+    private int[] nodePlace = new int[64];
+    private int nodeCount;
+
+    public Gazetteer(@Value("${location.gazetteer.path:classpath:gazetteer/us-places.tsv}") Resource resource,
+                     @Value("${location.gazetteer.default-state:NC}") String defaultState) {
+        this.defaultState = defaultState.toLowerCase(Locale.ROOT);
+        newNode('\0');
+        try {
+            load(resource);
+        } catch (Exception e) {
+            System.err.println("Error loading gazetteer from " + resource + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve an address to the centroid of its ZIP code or city
+     *
+     * @param address The raw address
+     * @return The location, or null if no known ZIP or city appears in the address
+     */
+    public LocationService.GeoLocation lookup(String address) {
+        String normalized = normalizeName(address);
+        if (normalized == null) {
+            return null;
+        }
+        String[] tokens = normalized.split(" ");
+
+        // ZIP: right-most 5-digit token; a leading token is usually a house number, so it only counts alone
+        int firstZipToken = (tokens.length > 1) ? 1 : 0;
+        for (int i = tokens.length - 1; i >= firstZipToken; i--) {
+            if (isZip(tokens[i])) {
+                int slot = findZip(Integer.parseInt(tokens[i]));
+                if (slot >= 0) {
+                    return new LocationService.GeoLocation(degrees(zipLatitudes[slot]), degrees(zipLongitudes[slot]), address);
+                }
+            }
+        }
+
+        // City: longest name match starting at each word, keeping the right-most one
+        // (a word inside the previous match can't replace it, so "new york" beats "york")
+        int matchedNode = -1;
+        int matchEnd = -1;
+        int start = 0;
+        while (start >= 0) {
+            long match = (start >= matchEnd) ? longestMatch(normalized, start) : -1;
+            if (match >= 0) {
+                matchEnd = (int) (match >>> 32);
+                matchedNode = (int) match;
+            }
+            int space = normalized.indexOf(' ', start);
+            start = (space < 0) ? -1 : space + 1;
+        }
+        if (matchedNode < 0) {
+            return null;
+        }
+
+        int place = choosePlace(nodePlace[matchedNode], stateAfter(normalized, matchEnd));
+        return new LocationService.GeoLocation(degrees(placeLatitudes[place]), degrees(placeLongitudes[place]), address);
+    }
+
+    /**
+     * Number of ZIP codes and places loaded
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("zipCodes", zipCount);
+        stats.put("places", placeStates.length);
+        stats.put("trieNodes", nodeCount);
+        return stats;
+    }
+
+    // ------------------------------------------------------------------------
+    // Loading
+    // ------------------------------------------------------------------------
+
+    private void load(Resource resource) throws Exception {
+        Map<Integer, float[]> zips = new HashMap<>();
+        // Per city|state: explicit centroid rows, and running sums of ZIP centroids
+        Map<String, double[]> explicitCities = new LinkedHashMap<>();
+        Map<String, double[]> zipCities = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                String zip;
+                String city;
+                String state;
+                double latitude;
+                double longitude;
+                if (fields.length >= 11) {
+                    // GeoNames: country, postal code, place, state name, state code, ..., latitude, longitude
+                    zip = fields[1];
+                    city = fields[2];
+                    state = fields[4];
+                    latitude = Double.parseDouble(fields[9]);
+                    longitude = Double.parseDouble(fields[10]);
+                } else if (fields.length >= 5) {
+                    zip = fields[0];
+                    city = fields[1];
+                    state = fields[2];
+                    latitude = Double.parseDouble(fields[3]);
+                    longitude = Double.parseDouble(fields[4]);
+                } else {
+                    continue;
+                }
+
+                String name = normalizeName(city);
+                if (name == null) {
+                    continue;
+                }
+                String cityKey = name + "|" + state.toLowerCase(Locale.ROOT);
+                if (zip.isBlank()) {
+                    explicitCities.put(cityKey, new double[]{latitude, longitude, 1});
+                } else if (isZip(zip.trim())) {
+                    zips.put(Integer.parseInt(zip.trim()), new float[]{(float) latitude, (float) longitude});
+                    double[] sum = zipCities.computeIfAbsent(cityKey, key -> new double[3]);
+                    sum[0] += latitude;
+                    sum[1] += longitude;
+                    sum[2]++;
+                }
+            }
+        }
+
+        buildZipTable(zips);
+
+        Map<String, double[]> cities = new LinkedHashMap<>(explicitCities);
+        zipCities.forEach(cities::putIfAbsent);
+        buildPlaces(cities);
+    }
+
+    private void buildZipTable(Map<Integer, float[]> zips) {
+        int capacity = Integer.highestOneBit(Math.max(4, zips.size() * 2 - 1)) << 1;
+        zipKeys = new int[capacity];
+        zipLatitudes = new float[capacity];
+        zipLongitudes = new float[capacity];
+        for (Map.Entry<Integer, float[]> entry : zips.entrySet()) {
+            int slot = zipSlot(entry.getKey());
+            while (zipKeys[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            zipKeys[slot] = entry.getKey() + 1;
+            zipLatitudes[slot] = entry.getValue()[0];
+            zipLongitudes[slot] = entry.getValue()[1];
+        }
+        zipCount = zips.size();
+    }
+
+    private void buildPlaces(Map<String, double[]> cities) {
+        int count = cities.size();
+        placeStates = new String[count];
+        placeLatitudes = new float[count];
+        placeLongitudes = new float[count];
+        placeNext = new int[count];
+
+        int place = 0;
+        for (Map.Entry<String, double[]> entry : cities.entrySet()) {
+            int separator = entry.getKey().lastIndexOf('|');
+            double[] sum = entry.getValue();
+            placeStates[place] = entry.getKey().substring(separator + 1);
+            placeLatitudes[place] = (float) (sum[0] / sum[2]);
+            placeLongitudes[place] = (float) (sum[1] / sum[2]);
+
+            int node = insert(entry.getKey().substring(0, separator));
+            placeNext[place] = nodePlace[node];
+            nodePlace[node] = place;
+            place++;
+        }
+
+        // Trim trie arrays to their used size
+        nodeChars = Arrays.copyOf(nodeChars, nodeCount);
+        nodeFirstChild = Arrays.copyOf(nodeFirstChild, nodeCount);
+        nodeNextSibling = Arrays.copyOf(nodeNextSibling, nodeCount);
+        nodePlace = Arrays.copyOf(nodePlace, nodeCount);
+    }
+
+    // ------------------------------------------------------------------------
+    // ZIP table
+    // ------------------------------------------------------------------------
+
+    private int findZip(int zip) {
+        if (zipKeys.length == 0) {
+            return -1;
+        }
+        int slot = zipSlot(zip);
+        while (zipKeys[slot] != 0) {
+            if (zipKeys[slot] == zip + 1) {
+                return slot;
+            }
+            slot = (slot + 1) & (zipKeys.length - 1);
+        }
+        return -1;
+    }
+
+    private int zipSlot(int zip) {
+        return (zip * 0x9E3779B1) >>> 1 & (zipKeys.length - 1);
+    }
+
+    /**
+     * Widen a stored float to double without float noise in the low digits (5 decimals is ~1 m)
+     */
+    private static double degrees(float value) {
+        return Math.round(value * 100_000d) / 100_000d;
+    }
+
+    private static boolean isZip(String token) {
+        if (token.length() != 5) {
+            return false;
+        }
+        for (int i = 0; i < 5; i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------------
+    // City trie
+    // ------------------------------------------------------------------------
+
+    private int insert(String name) {
+        int node = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            int child = child(node, c);
+            if (child < 0) {
+                child = newNode(c);
+                nodeNextSibling[child] = nodeFirstChild[node];
+                nodeFirstChild[node] = child;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Walk the trie from a word start to the longest city name ending on a word boundary
+     *
+     * @return (end index << 32 | terminal node), or -1 if no name starts here
+     */
+    private long longestMatch(String text, int start) {
+        int node = 0;
+        long best = -1;
+        for (int i = start; i < text.length(); i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            boolean wordBoundary = i + 1 == text.length() || text.charAt(i + 1) == ' ';
+            if (wordBoundary && nodePlace[node] >= 0) {
+                best = ((long) (i + 1) << 32) | node;
+            }
+        }
+        return best;
+    }
+
+    private int child(int node, char c) {
+        for (int child = nodeFirstChild[node]; child >= 0; child = nodeNextSibling[child]) {
+            if (nodeChars[child] == c) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    private int newNode(char c) {
+        if (nodeCount == nodeChars.length) {
+            int capacity = nodeCount * 2;
+            nodeChars = Arrays.copyOf(nodeChars, capacity);
+            nodeFirstChild = Arrays.copyOf(nodeFirstChild, capacity);
+            nodeNextSibling = Arrays.copyOf(nodeNextSibling, capacity);
+            nodePlace = Arrays.copyOf(nodePlace, capacity);
+        }
+        nodeChars[nodeCount] = c;
+        nodeFirstChild[nodeCount] = -1;
+        nodeNextSibling[nodeCount] = -1;
+        nodePlace[nodeCount] = -1;
+        return nodeCount++;
+    }
+
+    // ------------------------------------------------------------------------
+    // Address parsing
+    // ------------------------------------------------------------------------
+
+    /**
+     * First state code following a city match, or null
+     */
+    private static String stateAfter(String normalized, int from) {
+        for (String token : normalized.substring(from).trim().split(" ")) {
+            if (STATE_CODES.contains(token)) {
+                return token;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pick the place in a same-name chain: the address's state, then the default state, then any
+     */
+    private int choosePlace(int head, String state) {
+        List<String> preferred = new ArrayList<>(2);
+        if (state != null) {
+            preferred.add(state);
+        }
+        preferred.add(defaultState);
+        for (String wanted : preferred) {
+            for (int place = head; place >= 0; place = placeNext[place]) {
+                if (placeStates[place].equals(wanted)) {
+                    return place;
+                }
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Same normalization as the geocode cache, with hyphens treated as spaces
+     * so "Winston-Salem" and "Winston Salem" match the same name
+     */
+    private static String normalizeName(String text) {
+        String normalized = GeocodeCache.normalize(text);
+        if (normalized == null) {
+            return null;
+        }
+        normalized = normalized.replace('-', ' ').replace('#', ' ').replaceAll("\\s+", " ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
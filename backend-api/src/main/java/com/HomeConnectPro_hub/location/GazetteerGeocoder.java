@@ -0,0 +1,33 @@
+package com.HomeConnectPro_hub.location;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Geocoder that answers from the bundled gazetteer only (location.geocoder=gazetteer).
+ * 
+ * ZIP/city centroid precision, no network and no quota - for development and
+ * for deployments without a Google API key. Results are not cached since a
+ * lookup is already an in-memory operation.
+ */
+@Component
+@ConditionalOnProperty(name = "location.geocoder", havingValue = "gazetteer")
+public class GazetteerGeocoder implements Geocoder {
+
+    private final Gazetteer gazetteer;
+
+    public GazetteerGeocoder(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @Override
+    public GeocodeResult geocode(String address) {
+        LocationService.GeoLocation location = gazetteer.lookup(address);
+        return (location != null) ? GeocodeResult.ok(location) : GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.customer.Customer;
+import com.HomeConnectPro_hub.customer.CustomerRepository;
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ============================================================================
+ * Geocode Backfill Job - fills in coordinates for existing rows
+ * ============================================================================
+ * 
+ * Providers and customers created before coordinates were stored (or whose
+ * pipeline job ran out of retries or got no real coordinates) have a null
+ * geocodedAt. This job walks them in ID order and hands them to the geocoding
+ * pipeline, so the distance endpoints only need arithmetic at read time.
+ */
+@Component
+public class GeocodeBackfillJob {
+
+    private final ProviderRepository providerRepository;
+    private final CustomerRepository customerRepository;
+    private final GeocodingPipeline geocodingPipeline;
+
+    @Value("${location.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${location.backfill.batch-size:100}")
+    private int batchSize;
+
+    public GeocodeBackfillJob(ProviderRepository providerRepository,
+                              CustomerRepository customerRepository,
+                              GeocodingPipeline geocodingPipeline) {
+        this.providerRepository = providerRepository;
+        this.customerRepository = customerRepository;
+        this.geocodingPipeline = geocodingPipeline;
+    }
+
+    @Scheduled(initialDelayString = "${location.backfill.initial-delay-ms:30000}",
+               fixedDelayString = "${location.backfill.interval-ms:3600000}")
+    public void scheduledBackfill() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * Queue every provider and customer that has no coordinates yet
+     * 
+     * @return number of rows queued per entity type
+     */
+    public synchronized Map<String, Integer> backfill() {
+        Map<String, Integer> result = new HashMap<>();
+        result.put("providers", backfillProviders());
+        result.put("customers", backfillCustomers());
+        return result;
+    }
+
+    private int backfillProviders() {
+        int queued = 0;
+        long afterId = 0;
+        while (true) {
+            List<Provider> batch = providerRepository
+                    .findByGeocodedAtIsNullAndAddressIsNotNullAndIdGreaterThanOrderByIdAsc(
+                            afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return queued;
+            }
+            for (Provider provider : batch) {
+                geocodingPipeline.enqueueProvider(provider.getId(), provider.getAddress());
+                afterId = provider.getId();
+                queued++;
+            }
+        }
+    }
+
+    private int backfillCustomers() {
+        int queued = 0;
+        long afterId = 0;
+        while (true) {
+            List<Customer> batch = customerRepository
+                    .findByGeocodedAtIsNullAndAddressIsNotNullAndIdGreaterThanOrderByIdAsc(
+                            afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return queued;
+            }
+            for (Customer customer : batch) {
+                geocodingPipeline.enqueueCustomer(customer.getId(), customer.getAddress());
+                afterId = customer.getId();
+                queued++;
+            }
+        }
+    }
+}
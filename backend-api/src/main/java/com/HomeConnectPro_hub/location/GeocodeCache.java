@@ -0,0 +1,209 @@
+package com.HomeConnectPro_hub.location;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ============================================================================
+ * Geocode Cache - two-tier cache in front of the geocoding API
+ * ============================================================================
+ *
+ * Tier 1: bounded in-process LRU map with a time-to-live per entry
+ * Tier 2: optional memory-mapped file (MappedGeocodeStore) that survives restarts
+ * Tier 3: the geocoded_address table, keyed on the normalized address
+ *
+ * Lookups go memory -> mapped store -> database; a database hit is promoted back
+ * into the faster tiers, so repeat lookups for the same customer or provider
+ * address stay local. Mapped store hits are not copied onto the heap.
+ *
+ * Definite failures (no results, no API key, key rejected) are remembered in
+ * the memory tier only, for location.geocode.cache.negative-ttl-minutes, so an
+ * address that can't be geocoded doesn't cost a database read on every lookup.
+ */
+@Component
+public class GeocodeCache {
+
+    private final GeocodedAddressRepository geocodedAddressRepository;
+    private final MappedGeocodeStore mappedStore;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final LinkedHashMap<String, CacheEntry> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong mappedHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GeocodeCache(GeocodedAddressRepository geocodedAddressRepository,
+                        MappedGeocodeStore mappedStore,
+                        @Value("${location.geocode.cache.max-size:10000}") int maxSize,
+                        @Value("${location.geocode.cache.ttl-minutes:1440}") long ttlMinutes,
+                        @Value("${location.geocode.cache.negative-ttl-minutes:10}") long negativeTtlMinutes) {
+        this.geocodedAddressRepository = geocodedAddressRepository;
+        this.mappedStore = mappedStore;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.negativeTtlMillis = negativeTtlMinutes * 60_000L;
+        // Access-ordered so the eldest entry is always the least recently used one
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > GeocodeCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Normalize an address into a cache key:
+     * lower case, punctuation other than '#' and '-' dropped, whitespace collapsed
+     */
+    public static String normalize(String address) {
+        if (address == null) {
+            return null;
+        }
+        String normalized = address.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9#\\-\\s]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Look up a normalized address in memory, then in the mapped store, then in the database
+     *
+     * @return the cached result (OK, or a remembered failure) or null on a miss
+     */
+    public GeocodeResult get(String normalizedAddress) {
+        if (normalizedAddress == null) {
+            return null;
+        }
+
+        GeocodeResult remembered = getFromMemory(normalizedAddress);
+        if (remembered != null) {
+            (remembered.isOk() ? memoryHits : negativeHits).incrementAndGet();
+            return remembered;
+        }
+
+        LocationService.GeoLocation cached = mappedStore.get(normalizedAddress);
+        if (cached != null) {
+            mappedHits.incrementAndGet();
+            return GeocodeResult.ok(cached);
+        }
+
+        try {
+            GeocodedAddress stored = geocodedAddressRepository.findByNormalizedAddress(normalizedAddress)
+                    .orElse(null);
+            if (stored != null) {
+                persistentHits.incrementAndGet();
+                LocationService.GeoLocation location = new LocationService.GeoLocation(
+                        stored.getLatitude(), stored.getLongitude(), stored.getFormattedAddress());
+                putInMemory(normalizedAddress, GeocodeResult.ok(location), ttlMillis);
+                mappedStore.put(normalizedAddress, location);
+                return GeocodeResult.ok(location);
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading geocode cache: " + e.getMessage());
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a geocoded location in all tiers
+     */
+    public void put(String normalizedAddress, LocationService.GeoLocation location) {
+        if (normalizedAddress == null || location == null) {
+            return;
+        }
+
+        putInMemory(normalizedAddress, GeocodeResult.ok(location), ttlMillis);
+        mappedStore.put(normalizedAddress, location);
+
+        try {
+            // An address another request stored first is left as it is
+            geocodedAddressRepository.insertIfAbsent(normalizedAddress,
+                    location.getLatitude(), location.getLongitude(), location.getFormattedAddress());
+        } catch (Exception e) {
+            System.err.println("Error writing geocode cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remember a definite failure (not a retryable one) in the memory tier only
+     */
+    public void putNegative(String normalizedAddress, GeocodeResult result) {
+        if (normalizedAddress == null || result == null || result.isOk() || result.isRetryable()) {
+            return;
+        }
+        putInMemory(normalizedAddress, result, negativeTtlMillis);
+    }
+
+    /**
+     * Drop all in-memory entries (the database tier is left intact)
+     */
+    public synchronized void clearMemory() {
+        memory.clear();
+    }
+
+    /**
+     * Hit/miss counters for sizing the cache
+     */
+    public Map<String, Object> getStats() {
+        long memory = memoryHits.get();
+        long mapped = mappedHits.get();
+        long persistent = persistentHits.get();
+        long miss = misses.get();
+        long total = memory + mapped + persistent + miss;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("memoryHits", memory);
+        stats.put("negativeHits", negativeHits.get());
+        stats.put("mappedHits", mapped);
+        stats.put("persistentHits", persistent);
+        stats.put("misses", miss);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", total == 0 ? 0.0 : Math.round((memory + mapped + persistent) * 1000.0 / total) / 1000.0);
+        stats.put("memorySize", memorySize());
+        stats.put("memoryMaxSize", maxSize);
+        stats.put("mappedStore", mappedStore.getStats());
+        return stats;
+    }
+
+    private synchronized GeocodeResult getFromMemory(String key) {
+        CacheEntry entry = memory.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            memory.remove(key);
+            return null;
+        }
+        return entry.result;
+    }
+
+    private synchronized void putInMemory(String key, GeocodeResult result, long ttl) {
+        memory.put(key, new CacheEntry(result, System.currentTimeMillis() + ttl));
+    }
+
+    private synchronized int memorySize() {
+        return memory.size();
+    }
+
+    private record CacheEntry(GeocodeResult result, long expiresAt) {
+    }
+}
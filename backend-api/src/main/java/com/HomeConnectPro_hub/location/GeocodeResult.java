@@ -0,0 +1,44 @@
+package com.HomeConnectPro_hub.location;
+
+/**
+ * Outcome of a geocoding lookup
+ * 
+ * @param status What happened
+ * @param location The coordinates when status is OK, otherwise null
+ */
+public record GeocodeResult(Status status, LocationService.GeoLocation location) {
+
+    public enum Status {
+        /** Address resolved */
+        OK,
+        /** The geocoder found nothing for the address */
+        ZERO_RESULTS,
+        /** Quota exceeded - retry later with backoff */
+        OVER_QUERY_LIMIT,
+        /** Request rejected (bad key, invalid request) - retrying won't help */
+        DENIED,
+        /** Transient failure (network, server error) - safe to retry */
+        ERROR,
+        /** No geocoder is configured (e.g. no API key) */
+        UNAVAILABLE
+    }
+
+    public static GeocodeResult ok(LocationService.GeoLocation location) {
+        return new GeocodeResult(Status.OK, location);
+    }
+
+    public static GeocodeResult of(Status status) {
+        return new GeocodeResult(status, null);
+    }
+
+    public boolean isOk() {
+        return status == Status.OK && location != null;
+    }
+
+    /**
+     * Whether the same request may succeed if retried later
+     */
+    public boolean isRetryable() {
+        return status == Status.OVER_QUERY_LIMIT || status == Status.ERROR;
+    }
+}
@@ -0,0 +1,51 @@
+package com.HomeConnectPro_hub.location;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent tier of the geocode cache.
+ * One row per normalized address string that has been resolved by the geocoding API.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "geocoded_address")
+public class GeocodedAddress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "normalized_address", nullable = false, unique = true, length = 500)
+    private String normalizedAddress;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(name = "formatted_address", length = 500)
+    private String formattedAddress;
+
+    @Column(name = "geocoded_at", nullable = false)
+    private LocalDateTime geocodedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (geocodedAt == null) {
+            geocodedAt = LocalDateTime.now();
+        }
+    }
+
+    public GeocodedAddress(String normalizedAddress, double latitude, double longitude, String formattedAddress) {
+        this.normalizedAddress = normalizedAddress;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.formattedAddress = formattedAddress;
+    }
+}
@@ -0,0 +1,36 @@
+package com.HomeConnectPro_hub.location;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface GeocodedAddressRepository extends JpaRepository<GeocodedAddress, Long> {
+
+    /**
+     * Find a previously geocoded address by its normalized form
+     */
+    Optional<GeocodedAddress> findByNormalizedAddress(String normalizedAddress);
+
+    /**
+     * Store an address unless it is already stored, in one statement
+     *
+     * @return 1 if inserted, 0 if the address was already there
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO geocoded_address (normalized_address, latitude, longitude, formatted_address, geocoded_at)
+            VALUES (:normalizedAddress, :latitude, :longitude, :formattedAddress, LOCALTIMESTAMP)
+            ON CONFLICT (normalized_address) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("normalizedAddress") String normalizedAddress,
+                       @Param("latitude") double latitude,
+                       @Param("longitude") double longitude,
+                       @Param("formattedAddress") String formattedAddress);
+}
@@ -0,0 +1,27 @@
+package com.HomeConnectPro_hub.location;
+
+/**
+ * Resolves a single address to coordinates.
+ * 
+ * Implementations:
+ * - GoogleGeocoder: Google Maps Geocoding API (default, location.geocoder=google)
+ * - StubGeocoder: local deterministic geocoder for load tests (location.geocoder=stub)
+ * - GazetteerGeocoder: offline ZIP/city centroids from the bundled gazetteer (location.geocoder=gazetteer)
+ */
+public interface Geocoder {
+
+    /**
+     * Geocode one address
+     * 
+     * @param address The raw address
+     * @return The result; never null
+     */
+    GeocodeResult geocode(String address);
+
+    /**
+     * Whether successful results should be stored in the geocode cache
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+}
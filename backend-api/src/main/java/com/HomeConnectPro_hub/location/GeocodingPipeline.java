@@ -0,0 +1,312 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.customer.Customer;
+import com.HomeConnectPro_hub.customer.CustomerRepository;
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderChangedEvent;
+import com.HomeConnectPro_hub.provider.ProviderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ============================================================================
+ * Geocoding Pipeline - background geocoding for providers and customers
+ * ============================================================================
+ *
+ * Addresses that need coordinates are queued here instead of being geocoded
+ * on the request path:
+ * 1. Worker threads take jobs from the queue, each first taking a token from
+ *    a token-bucket rate limiter sized to the geocoder's quota
+ * 2. OVER_QUERY_LIMIT (and transient errors) pause the limiter with
+ *    exponential backoff and put the job back on the queue
+ * 3. A writer thread collects finished jobs and stores them in batches,
+ *    one transaction per batch
+ *
+ * A job is only written if the row still has the address that was geocoded,
+ * so a stale job can never overwrite a newer address's coordinates.
+ *
+ * Only real coordinates are written: a geocoder match, or the gazetteer's
+ * centroid when the geocoder found nothing. Without a usable geocoder (no or
+ * rejected API key) the row keeps a null geocodedAt so a later run retries it.
+ */
+@Component
+public class GeocodingPipeline {
+
+    public enum TargetType {
+        PROVIDER,
+        CUSTOMER
+    }
+
+    private final LocationService locationService;
+    private final Gazetteer gazetteer;
+    private final ProviderRepository providerRepository;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final int workerCount;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    // Latest address per target; a target is queued at most once at a time
+    private final ConcurrentHashMap<String, String> pendingAddresses = new ConcurrentHashMap<>();
+    private final BlockingQueue<Job> jobs = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Completed> completed = new LinkedBlockingQueue<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong geocoded = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong overQueryLimit = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong unresolved = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+
+    public GeocodingPipeline(LocationService locationService,
+                             Gazetteer gazetteer,
+                             ProviderRepository providerRepository,
+                             CustomerRepository customerRepository,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${location.pipeline.rate-per-second:40}") double ratePerSecond,
+                             @Value("${location.pipeline.burst:10}") int burst,
+                             @Value("${location.pipeline.workers:4}") int workerCount,
+                             @Value("${location.pipeline.batch-size:50}") int batchSize,
+                             @Value("${location.pipeline.flush-interval-ms:1000}") long flushIntervalMillis,
+                             @Value("${location.pipeline.max-attempts:6}") int maxAttempts,
+                             @Value("${location.pipeline.backoff-initial-ms:500}") long initialBackoffMillis,
+                             @Value("${location.pipeline.backoff-max-ms:60000}") long maxBackoffMillis) {
+        this.locationService = locationService;
+        this.gazetteer = gazetteer;
+        this.providerRepository = providerRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.rateLimiter = new TokenBucketRateLimiter(ratePerSecond, burst);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            threads.add(Thread.ofVirtual().name("geocode-worker-" + i).start(this::runWorker));
+        }
+        threads.add(Thread.ofVirtual().name("geocode-writer").start(this::runWriter));
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queue a provider's address for geocoding once the current transaction commits
+     */
+    public void enqueueProvider(Long providerId, String address) {
+        enqueueAfterCommit(TargetType.PROVIDER, providerId, address);
+    }
+
+    /**
+     * Queue a customer's address for geocoding once the current transaction commits
+     */
+    public void enqueueCustomer(Long customerId, String address) {
+        enqueueAfterCommit(TargetType.CUSTOMER, customerId, address);
+    }
+
+    /**
+     * Queue counters and current depth
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queued", jobs.size());
+        stats.put("awaitingWrite", completed.size());
+        stats.put("enqueued", enqueued.get());
+        stats.put("geocoded", geocoded.get());
+        stats.put("retries", retries.get());
+        stats.put("overQueryLimit", overQueryLimit.get());
+        stats.put("abandoned", abandoned.get());
+        stats.put("unresolved", unresolved.get());
+        stats.put("written", written.get());
+        stats.put("batchesWritten", batchesWritten.get());
+        return stats;
+    }
+
+    private void enqueueAfterCommit(TargetType type, Long id, String address) {
+        if (id == null || address == null || address.trim().isEmpty()) {
+            return;
+        }
+        // The worker re-reads the row, so it must not see it before the writing transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(type, id, address);
+                }
+            });
+        } else {
+            enqueue(type, id, address);
+        }
+    }
+
+    private void enqueue(TargetType type, Long id, String address) {
+        String key = type + ":" + id;
+        enqueued.incrementAndGet();
+        if (pendingAddresses.put(key, address) == null) {
+            jobs.offer(new Job(type, id, key, 0));
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                Job job = jobs.take();
+                String address = pendingAddresses.remove(job.key);
+                if (address == null) {
+                    continue;
+                }
+
+                rateLimiter.acquire();
+                GeocodeResult result = locationService.resolveAddress(address);
+
+                if (result.isRetryable() && job.attempt + 1 < maxAttempts) {
+                    if (result.status() == GeocodeResult.Status.OVER_QUERY_LIMIT) {
+                        overQueryLimit.incrementAndGet();
+                    }
+                    retries.incrementAndGet();
+                    rateLimiter.pauseFor(Math.min(maxBackoffMillis, initialBackoffMillis << job.attempt));
+                    // Only requeue if no newer address arrived while we were working
+                    if (pendingAddresses.putIfAbsent(job.key, address) == null) {
+                        jobs.offer(new Job(job.type, job.id, job.key, job.attempt + 1));
+                    }
+                    continue;
+                }
+                if (result.isRetryable()) {
+                    // Out of attempts - the backfill job will pick the row up again later
+                    abandoned.incrementAndGet();
+                    continue;
+                }
+
+                LocationService.GeoLocation location = result.isOk()
+                        ? result.location()
+                        : (result.status() == GeocodeResult.Status.ZERO_RESULTS) ? gazetteer.lookup(address) : null;
+                if (location == null) {
+                    // No real coordinates - leave geocodedAt null so the backfill job retries later
+                    unresolved.incrementAndGet();
+                    continue;
+                }
+                geocoded.incrementAndGet();
+                completed.offer(new Completed(job.type, job.id, address, location));
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Geocoding pipeline worker error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<Completed> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Completed first = completed.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    completed.drainTo(batch, batchSize - 1);
+                }
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Geocoding pipeline writer error: " + e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Store one batch of results in a single transaction
+     */
+    private void writeBatch(List<Completed> batch) {
+        Map<Long, Completed> providerResults = new HashMap<>();
+        Map<Long, Completed> customerResults = new HashMap<>();
+        for (Completed result : batch) {
+            (result.type == TargetType.PROVIDER ? providerResults : customerResults).put(result.id, result);
+        }
+
+        List<Long> updatedProviderIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            List<Provider> providers = providerRepository.findAllById(providerResults.keySet());
+            for (Provider provider : providers) {
+                Completed result = providerResults.get(provider.getId());
+                if (Objects.equals(provider.getAddress(), result.address)) {
+                    provider.setLatitude(result.location.getLatitude());
+                    provider.setLongitude(result.location.getLongitude());
+                    provider.setGeocodedAt(now);
+                    updatedProviderIds.add(provider.getId());
+                }
+            }
+
+            List<Customer> customers = customerRepository.findAllById(customerResults.keySet());
+            int updatedCustomers = 0;
+            for (Customer customer : customers) {
+                Completed result = customerResults.get(customer.getId());
+                if (Objects.equals(customer.getAddress(), result.address)) {
+                    customer.setLatitude(result.location.getLatitude());
+                    customer.setLongitude(result.location.getLongitude());
+                    customer.setGeocodedAt(now);
+                    updatedCustomers++;
+                }
+            }
+
+            written.addAndGet(updatedProviderIds.size() + updatedCustomers);
+        });
+        batchesWritten.incrementAndGet();
+
+        updatedProviderIds.forEach(id -> eventPublisher.publishEvent(new ProviderChangedEvent(id, false)));
+    }
+
+    private record Job(TargetType type, Long id, String key, int attempt) {
+    }
+
+    private record Completed(TargetType type, Long id, String address, LocationService.GeoLocation location) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.HomeConnectPro_hub.location;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Geocoder backed by the Google Maps Geocoding API
+ * Documentation: https://developers.google.com/maps/documentation/geocoding
+ */
+@Component
+@ConditionalOnProperty(name = "location.geocoder", havingValue = "google", matchIfMissing = true)
+public class GoogleGeocoder implements Geocoder {
+
+    private static final String GEOCODING_API_URL = "https://maps.googleapis.com/maps/api/geocode/json";
+
+    @Value("${google.maps.api.key:}")
+    private String googleApiKey;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    public GoogleGeocoder() {
+        this.restTemplate = new RestTemplate();
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public GeocodeResult geocode(String address) {
+        // If no API key is configured, callers use fallback coordinates
+        if (googleApiKey == null || googleApiKey.isEmpty()) {
+            return GeocodeResult.of(GeocodeResult.Status.UNAVAILABLE);
+        }
+
+        try {
+            // Build URL string
+            String encodedAddress = URLEncoder.encode(address, StandardCharsets.UTF_8);
+            String urlString = GEOCODING_API_URL + "?address=" + encodedAddress + "&key=" + googleApiKey;
+
+            // Use the String overload of getForObject to avoid URI null issues
+            String response = restTemplate.getForObject(urlString, String.class);
+
+            if (response == null) {
+                return GeocodeResult.of(GeocodeResult.Status.ERROR);
+            }
+
+            JsonNode root = objectMapper.readTree(response);
+
+            String status = root.path("status").asText();
+            switch (status) {
+                case "OK":
+                    JsonNode results = root.path("results");
+                    if (results.isArray() && results.size() > 0) {
+                        JsonNode location = results.get(0).path("geometry").path("location");
+                        double lat = location.path("lat").asDouble();
+                        double lng = location.path("lng").asDouble();
+
+                        String formattedAddress = results.get(0).path("formatted_address").asText();
+
+                        return GeocodeResult.ok(new LocationService.GeoLocation(lat, lng, formattedAddress));
+                    }
+                    return GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+                case "ZERO_RESULTS":
+                    return GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+                case "OVER_QUERY_LIMIT":
+                    return GeocodeResult.of(GeocodeResult.Status.OVER_QUERY_LIMIT);
+                case "UNKNOWN_ERROR":
+                    return GeocodeResult.of(GeocodeResult.Status.ERROR);
+                default:
+                    System.err.println("Geocoding API returned status: " + status);
+                    return GeocodeResult.of(GeocodeResult.Status.DENIED);
+            }
+
+        } catch (Exception e) {
+            System.err.println("Error geocoding address: " + e.getMessage());
+            return GeocodeResult.of(GeocodeResult.Status.ERROR);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.HomeConnectPro_hub.location;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Bulk great-circle distances from one origin to many destinations.
+ * 
+ * Destinations are passed as parallel lat/lng arrays (the layout the spatial
+ * index already keeps per cell) and results go into a caller-owned primitive
+ * array, so a scan allocates nothing per point. The origin's radians and cosine
+ * are computed once per call instead of once per pair.
+ * 
+ * When the application is built with the vector profile and the JVM is started
+ * with --add-modules jdk.incubator.vector, the work is done by
+ * VectorHaversineKernel, several lanes at a time; otherwise a scalar loop with
+ * the same formula is used. The default build leaves the incubator module out
+ * entirely, since every compile and run that adds it prints a warning.
+ * HaversineKernelBenchmark compares the two against LocationService.calculateDistance.
+ */
+public final class HaversineKernel {
+
+    private static final double RADIANS_PER_DEGREE = Math.PI / 180.0;
+
+    // Beyond this radius the equirectangular estimate is no longer trusted as a pre-filter
+    private static final double PREFILTER_MAX_RADIUS_MILES = 250.0;
+    private static final double PREFILTER_MARGIN = 1.02;
+
+    private static final String VECTOR_KERNEL_CLASS = "com.HomeConnectPro_hub.location.VectorHaversineKernel";
+
+    // VectorHaversineKernel.distances, or null; a constant handle, so the JIT inlines the call
+    private static final MethodHandle VECTOR_KERNEL = loadVectorKernel();
+    private static final boolean VECTORIZED = VECTOR_KERNEL != null;
+
+    private HaversineKernel() {
+    }
+
+    /**
+     * Whether the Vector API implementation is in use
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Haversine distance (miles) from the origin to each of the first {@code length}
+     * destinations, written to {@code out[0..length)}
+     */
+    public static void distances(double originLatitude, double originLongitude,
+                                 double[] latitudes, double[] longitudes, int length, double[] out) {
+        if (VECTORIZED) {
+            try {
+                VECTOR_KERNEL.invokeExact(originLatitude, originLongitude, latitudes, longitudes, length, out);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            scalarDistances(originLatitude, originLongitude, latitudes, longitudes, 0, length, out);
+        }
+    }
+
+    /**
+     * Cheap equirectangular check that a point may lie within a radius of the origin.
+     * 
+     * Returns true for every point whose haversine distance is within the radius,
+     * and rejects most of those that are not without any trig call. Points that
+     * pass still need an exact distance. Radii above a few hundred miles, where the
+     * flat-earth estimate drifts, always pass.
+     *
+     * @param cosOriginLatitude Math.cos of the origin latitude in radians, computed once per query
+     */
+    public static boolean mayBeWithin(double originLatitude, double originLongitude, double cosOriginLatitude,
+                                      double latitude, double longitude, double radiusMiles) {
+        if (radiusMiles > PREFILTER_MAX_RADIUS_MILES) {
+            return true;
+        }
+        double dLat = latitude - originLatitude;
+        double dLng = Math.abs(longitude - originLongitude);
+        if (dLng > 180.0) {
+            dLng = 360.0 - dLng;
+        }
+        double milesPerDegree = LocationService.EARTH_RADIUS_MILES * RADIANS_PER_DEGREE;
+        double y = dLat * milesPerDegree;
+        double x = dLng * cosOriginLatitude * milesPerDegree;
+        double limit = radiusMiles * PREFILTER_MARGIN
+                // the origin-latitude cosine overstates east-west distance for points further poleward
+                + Math.abs(dLat) * dLng * milesPerDegree * RADIANS_PER_DEGREE;
+        return x * x + y * y <= limit * limit;
+    }
+
+    static void scalarDistances(double originLatitude, double originLongitude,
+                                double[] latitudes, double[] longitudes, int from, int to, double[] out) {
+        double lat1 = originLatitude * RADIANS_PER_DEGREE;
+        double lng1 = originLongitude * RADIANS_PER_DEGREE;
+        double cosLat1 = Math.cos(lat1);
+        for (int i = from; i < to; i++) {
+            double lat2 = latitudes[i] * RADIANS_PER_DEGREE;
+            double sinHalfDLat = Math.sin((lat2 - lat1) * 0.5);
+            double sinHalfDLng = Math.sin((longitudes[i] * RADIANS_PER_DEGREE - lng1) * 0.5);
+            double a = sinHalfDLat * sinHalfDLat + cosLat1 * Math.cos(lat2) * sinHalfDLng * sinHalfDLng;
+            out[i] = 2 * LocationService.EARTH_RADIUS_MILES * Math.asin(Math.sqrt(Math.min(a, 1.0)));
+        }
+    }
+
+    private static MethodHandle loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> kernel = Class.forName(VECTOR_KERNEL_CLASS);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            int lanes = (int) lookup.findStatic(kernel, "lanes", MethodType.methodType(int.class)).invokeExact();
+            if (lanes <= 1) {
+                return null;
+            }
+            return lookup.findStatic(kernel, "distances", MethodType.methodType(void.class,
+                    double.class, double.class, double[].class, double[].class, int.class, double[].class));
+        } catch (ClassNotFoundException e) {
+            // Built without the vector profile (the default)
+            return null;
+        } catch (Throwable e) {
+            System.err.println("Vector API unavailable, using scalar distance kernel: " + e.getMessage());
+            return null;
+        }
+    }
+}
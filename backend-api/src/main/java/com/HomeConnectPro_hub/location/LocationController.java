@@ -4,9 +4,14 @@ import com.HomeConnectPro_hub.service.Service;
 import com.HomeConnectPro_hub.service.ServiceService;
 import com.HomeConnectPro_hub.customer.Customer;
 import com.HomeConnectPro_hub.customer.CustomerService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,6 +25,7 @@ import java.util.stream.Collectors;
  * 1. Getting services filtered by distance from customer
  * 2. Calculating distance between addresses
  * 3. Geocoding addresses to coordinates
+ * 4. Distance matrices between many origins and destinations
  * 
  * 3rd Party API: Google Maps Geocoding API
  */
@@ -32,6 +38,33 @@ public class LocationController {
     private final LocationService locationService;
     private final ServiceService serviceService;
     private final CustomerService customerService;
+    private final GeocodeBackfillJob geocodeBackfillJob;
+    private final ServiceSpatialIndex serviceSpatialIndex;
+    private final GeocodingPipeline geocodingPipeline;
+    private final DistanceMatrixService distanceMatrixService;
+    private final ServiceRankingService serviceRankingService;
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // Upper bounds (miles) of the distance-summary bands
+    @Value("${location.distance-bands:5,10,25}")
+    private double[] distanceBands;
+
+    /**
+     * Refuse to start with bands the summary can't label: empty, non-positive or not ascending
+     */
+    @PostConstruct
+    void validateDistanceBands() {
+        if (distanceBands == null || distanceBands.length == 0) {
+            throw new IllegalStateException("location.distance-bands must list at least one distance");
+        }
+        for (int i = 0; i < distanceBands.length; i++) {
+            if (!(distanceBands[i] > 0) || (i > 0 && distanceBands[i] <= distanceBands[i - 1])) {
+                throw new IllegalStateException("location.distance-bands must be positive and ascending: "
+                        + Arrays.toString(distanceBands));
+            }
+        }
+    }
 
     /**
      * Get all services sorted by distance from a customer
@@ -56,19 +89,52 @@ public class LocationController {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Get all active services
-            List<Service> services = serviceService.getActiveServices();
+            // Stored coordinates - only geocodes if the customer hasn't been backfilled yet
+            LocationService.GeoLocation customerLocation = locationService.locateCustomer(customer);
+            if (customerLocation == null) {
+                return ResponseEntity.ok(new ArrayList<>());
+            }
+            
+            // Only the grid cells around the customer are scanned
+            // (+0.05 keeps services whose distance rounds down to maxDistance, as before)
+            Map<Long, Double> distances = new HashMap<>();
+            serviceSpatialIndex.findWithinRadius(customerLocation.getLatitude(),
+                    customerLocation.getLongitude(), maxDistance + 0.05)
+                    .forEach(hit -> distances.put(hit.serviceId(), hit.distance()));
+            
+            // Services whose provider has no coordinates yet aren't in the grid
+            List<Long> candidateIds = new ArrayList<>(distances.keySet());
+            candidateIds.addAll(serviceSpatialIndex.getUnlocatedServiceIds());
             
-            // Calculate distance for each service and filter
-            List<ServiceWithDistance> nearbyServices = services.stream()
-                    .filter(service -> service.getProvider() != null && 
+            List<Service> candidates = serviceService.getServicesByIds(candidateIds).stream()
+                    .filter(service -> service.isActive() && service.getProvider() != null && 
                                       service.getProvider().getAddress() != null)
+                    .collect(Collectors.toList());
+            
+            // Providers missing from the grid are geocoded concurrently, within the request deadline
+            Map<Long, LocationService.GeoLocation> providerLocations = locationService.locateProviders(
+                    candidates.stream()
+                            .filter(service -> !distances.containsKey(service.getId()))
+                            .map(Service::getProvider)
+                            .collect(Collectors.toList()));
+            
+            // Calculate distance for each candidate and filter
+            List<ServiceWithDistance> nearbyServices = candidates.stream()
                     .map(service -> {
-                        String providerAddress = service.getProvider().getAddress();
-                        double distance = locationService.calculateDistanceBetweenAddresses(
-                                customerAddress, providerAddress);
-                        return new ServiceWithDistance(service, distance);
+                        Double distance = distances.get(service.getId());
+                        if (distance == null) {
+                            LocationService.GeoLocation providerLocation =
+                                    providerLocations.get(service.getProvider().getId());
+                            distance = (providerLocation != null)
+                                    ? locationService.calculateDistance(customerLocation, providerLocation)
+                                    : null;
+                        }
+                        // A provider not located within the deadline has no distance - it isn't "nearby"
+                        return (distance == null || distance < 0 || distance == Double.MAX_VALUE)
+                                ? null
+                                : new ServiceWithDistance(service, distance);
                     })
+                    .filter(Objects::nonNull)
                     .filter(swd -> swd.getDistance() <= maxDistance)
                     .sorted(Comparator.comparingDouble(ServiceWithDistance::getDistance))
                     .collect(Collectors.toList());
@@ -80,6 +146,84 @@ public class LocationController {
         }
     }
 
+    /**
+     * Get the K services nearest to a customer
+     * Services whose provider has no coordinates are left out
+     * 
+     * GET /api/location/services/nearest?customerId={id}&k={count}
+     */
+    @GetMapping("/services/nearest")
+    public ResponseEntity<List<ServiceWithDistance>> getNearestServices(
+            @RequestParam Long customerId,
+            @RequestParam(defaultValue = "20") int k) {
+        
+        try {
+            if (customerId == null || k < 1) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            Customer customer = customerService.getCustomerById(customerId);
+            LocationService.GeoLocation customerLocation = locationService.locateCustomer(customer);
+            if (customerLocation == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            List<ServiceSpatialIndex.Hit> nearest = serviceSpatialIndex.findNearest(
+                    customerLocation.getLatitude(), customerLocation.getLongitude(), k);
+            
+            // Only the K winners are loaded from the database
+            Map<Long, Service> servicesById = new HashMap<>();
+            serviceService.getServicesByIds(nearest.stream().map(ServiceSpatialIndex.Hit::serviceId).toList())
+                    .forEach(service -> servicesById.put(service.getId(), service));
+            
+            List<ServiceWithDistance> nearestServices = new ArrayList<>(nearest.size());
+            for (ServiceSpatialIndex.Hit hit : nearest) {
+                Service service = servicesById.get(hit.serviceId());
+                if (service != null && service.isActive()) {
+                    nearestServices.add(new ServiceWithDistance(service, hit.distance()));
+                }
+            }
+            
+            return ResponseEntity.ok(nearestServices);
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Services around a customer ranked by a weighted score of distance, rating,
+     * review count and price (weights: location.ranking.weight.*)
+     * Returns one page with each service's distance, rating and score, replacing
+     * a nearby call plus one rating call per result
+     * 
+     * GET /api/location/services/ranked?customerId={id}&maxDistance={miles}&page={n}&size={count}
+     */
+    @GetMapping("/services/ranked")
+    public ResponseEntity<List<ServiceRankingService.RankedService>> getRankedServices(
+            @RequestParam Long customerId,
+            @RequestParam(defaultValue = "25") double maxDistance,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            if (customerId == null || maxDistance <= 0 || page < 0 || size < 1 || size > 100) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            Customer customer = customerService.getCustomerById(customerId);
+            LocationService.GeoLocation customerLocation = locationService.locateCustomer(customer);
+            if (customerLocation == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            return ResponseEntity.ok(serviceRankingService.rank(customerLocation, maxDistance, page, size));
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get all services with distance information (no filtering)
      * 
@@ -101,7 +245,9 @@ public class LocationController {
                 return ResponseEntity.badRequest().build();
             }
             
+            LocationService.GeoLocation customerLocation = locationService.locateCustomer(customer);
             List<Service> services = serviceService.getActiveServices();
+            Map<Long, LocationService.GeoLocation> providerLocations = locateProviders(services);
             
             List<ServiceWithDistance> servicesWithDistance = services.stream()
                     .map(service -> {
@@ -109,8 +255,8 @@ public class LocationController {
                                 ? service.getProvider().getAddress() 
                                 : null;
                         double distance = (providerAddress != null)
-                                ? locationService.calculateDistanceBetweenAddresses(
-                                        customerAddress, providerAddress)
+                                ? locationService.calculateDistance(
+                                        customerLocation, providerLocations.get(service.getProvider().getId()))
                                 : Double.MAX_VALUE;
                         return new ServiceWithDistance(service, distance);
                     })
@@ -159,6 +305,45 @@ public class LocationController {
         }
     }
 
+    /**
+     * Distances from every origin to every destination
+     * Points are addresses, customer IDs or provider IDs; each unique address is geocoded once
+     * 
+     * With Accept: application/x-ndjson the matrix is streamed instead: a header line
+     * with the resolved points, then one line per origin row as it is computed
+     * 
+     * POST /api/location/distance-matrix
+     * Body: {"origins": [{"customerId": 1}, ...], "destinations": [{"providerId": 2}, {"address": "..."}]}
+     */
+    @PostMapping("/distance-matrix")
+    public ResponseEntity<?> getDistanceMatrix(
+            @RequestBody DistanceMatrixRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        try {
+            DistanceMatrixService.Matrix matrix = distanceMatrixService.resolve(request);
+            
+            if (accept != null && accept.contains(NDJSON_VALUE)) {
+                StreamingResponseBody body = out -> distanceMatrixService.writeNdjson(matrix, out);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                        .body(body);
+            }
+            
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("origins", matrix.origins().describe());
+            response.put("destinations", matrix.destinations().describe());
+            response.put("distancesMiles", distanceMatrixService.computeAll(matrix));
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Failed to calculate distance matrix");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(error);
+        }
+    }
+
     /**
      * Geocode an address to get coordinates
      * 
@@ -196,10 +381,45 @@ public class LocationController {
         }
     }
 
+    /**
+     * Geocode cache statistics (hit/miss counts used to size the cache,
+     * outbound vs. coalesced lookups)
+     * 
+     * GET /api/location/geocode/cache-stats
+     */
+    @GetMapping("/geocode/cache-stats")
+    public ResponseEntity<Map<String, Object>> getGeocodeCacheStats() {
+        return ResponseEntity.ok(locationService.getGeocodeCacheStats());
+    }
+
+    /**
+     * Background geocoding pipeline queue depth and counters
+     * 
+     * GET /api/location/geocode/pipeline-stats
+     */
+    @GetMapping("/geocode/pipeline-stats")
+    public ResponseEntity<Map<String, Object>> getGeocodingPipelineStats() {
+        return ResponseEntity.ok(geocodingPipeline.getStats());
+    }
+
+    /**
+     * Queue any providers and customers that don't have stored coordinates yet
+     * for the background geocoding pipeline
+     * 
+     * POST /api/location/backfill
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Integer>> backfillCoordinates() {
+        return ResponseEntity.ok(geocodeBackfillJob.backfill());
+    }
+
     /**
      * Get distance ranges/buckets for services
      * 
      * GET /api/location/services/distance-summary?customerId={id}
+     * 
+     * Bands come from location.distance-bands; the defaults (5,10,25) produce
+     * within5Miles, within10Miles, within25Miles and beyond25Miles
      */
     @GetMapping("/services/distance-summary")
     public ResponseEntity<Map<String, Object>> getDistanceSummary(@RequestParam Long customerId) {
@@ -217,36 +437,39 @@ public class LocationController {
                 return ResponseEntity.badRequest().body(error);
             }
             
-            List<Service> services = serviceService.getActiveServices();
+            LocationService.GeoLocation customerLocation = locationService.locateCustomer(customer);
+            double[] bandLimits = distanceBands;
             
-            int within5Miles = 0;
-            int within10Miles = 0;
-            int within25Miles = 0;
-            int beyond25Miles = 0;
+            // Located services are counted from the spatial index's per-cell counts
+            long[] counts = (customerLocation != null)
+                    ? serviceSpatialIndex.countByDistanceBand(
+                            customerLocation.getLatitude(), customerLocation.getLongitude(), bandLimits)
+                    : new long[bandLimits.length + 1];
+            if (customerLocation == null) {
+                counts[bandLimits.length] = serviceSpatialIndex.size();
+            }
             
-            for (Service service : services) {
+            // Services whose provider hasn't been geocoded yet are handled one by one
+            List<Service> unlocatedServices = serviceService.getServicesByIds(
+                    serviceSpatialIndex.getUnlocatedServiceIds());
+            Map<Long, LocationService.GeoLocation> providerLocations = locateProviders(unlocatedServices);
+            for (Service service : unlocatedServices) {
                 if (service.getProvider() == null || service.getProvider().getAddress() == null) {
-                    beyond25Miles++;
+                    counts[bandLimits.length]++;
                     continue;
                 }
-                
-                String providerAddress = service.getProvider().getAddress();
-                double distance = locationService.calculateDistanceBetweenAddresses(
-                        customerAddress, providerAddress);
-                
-                if (distance <= 5) within5Miles++;
-                else if (distance <= 10) within10Miles++;
-                else if (distance <= 25) within25Miles++;
-                else beyond25Miles++;
+                double distance = locationService.calculateDistance(
+                        customerLocation, providerLocations.get(service.getProvider().getId()));
+                counts[ServiceSpatialIndex.band(distance, bandLimits)]++;
             }
             
             Map<String, Object> summary = new HashMap<>();
             summary.put("customerAddress", customerAddress);
-            summary.put("totalServices", services.size());
-            summary.put("within5Miles", within5Miles);
-            summary.put("within10Miles", within10Miles);
-            summary.put("within25Miles", within25Miles);
-            summary.put("beyond25Miles", beyond25Miles);
+            summary.put("totalServices", Arrays.stream(counts).sum());
+            for (int i = 0; i < bandLimits.length; i++) {
+                summary.put("within" + formatMiles(bandLimits[i]) + "Miles", counts[i]);
+            }
+            summary.put("beyond" + formatMiles(bandLimits[bandLimits.length - 1]) + "Miles", counts[bandLimits.length]);
             
             return ResponseEntity.ok(summary);
             
@@ -255,6 +478,24 @@ public class LocationController {
         }
     }
 
+    /**
+     * Band limit as used in summary keys: 5.0 -> "5", 2.5 -> "2.5"
+     */
+    private static String formatMiles(double miles) {
+        return (miles == Math.rint(miles)) ? String.valueOf((long) miles) : String.valueOf(miles);
+    }
+
+    /**
+     * Locations of the providers behind a list of services
+     * Un-geocoded providers are resolved concurrently rather than one by one
+     */
+    private Map<Long, LocationService.GeoLocation> locateProviders(List<Service> services) {
+        return locationService.locateProviders(services.stream()
+                .map(Service::getProvider)
+                .filter(provider -> provider != null && provider.getAddress() != null)
+                .collect(Collectors.toList()));
+    }
+
     /**
      * DTO for service with distance information
      */
@@ -1,13 +1,25 @@
 package com.HomeConnectPro_hub.location;
 
+import com.HomeConnectPro_hub.customer.Customer;
+import com.HomeConnectPro_hub.provider.Provider;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ============================================================================
@@ -25,25 +37,44 @@ import java.nio.charset.StandardCharsets;
 @Service
 public class LocationService {
 
-    @Value("${google.maps.api.key:}")
-    private String googleApiKey;
+    private final Geocoder geocoder;
+    private final GeocodeCache geocodeCache;
+    private final Gazetteer gazetteer;
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    // Single-flight: lookups currently in progress, keyed on the normalized address
+    private final ConcurrentHashMap<String, CompletableFuture<GeocodeResult>> inFlightLookups = new ConcurrentHashMap<>();
+    private final AtomicLong outboundLookups = new AtomicLong();
+    private final AtomicLong coalescedLookups = new AtomicLong();
+
+    // Fan-out for bulk lookups: one virtual thread per address, capped by a shared permit pool
+    private final ExecutorService geocodeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore geocodePermits;
+    private final long geocodeDeadlineMillis;
 
-    private static final String GEOCODING_API_URL = "https://maps.googleapis.com/maps/api/geocode/json";
-    
     // Earth's radius in miles
-    private static final double EARTH_RADIUS_MILES = 3958.8;
+    static final double EARTH_RADIUS_MILES = 3958.8;
+
+    public LocationService(Geocoder geocoder,
+                           GeocodeCache geocodeCache,
+                           Gazetteer gazetteer,
+                           @Value("${location.geocode.concurrency:16}") int geocodeConcurrency,
+                           @Value("${location.geocode.deadline-ms:5000}") long geocodeDeadlineMillis) {
+        this.geocoder = geocoder;
+        this.geocodeCache = geocodeCache;
+        this.gazetteer = gazetteer;
+        this.geocodePermits = new Semaphore(geocodeConcurrency);
+        this.geocodeDeadlineMillis = geocodeDeadlineMillis;
+    }
 
-    public LocationService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    @PreDestroy
+    public void shutdown() {
+        geocodeExecutor.shutdownNow();
     }
 
     /**
      * Geocode an address to get latitude and longitude coordinates
-     * Uses Google Maps Geocoding API
+     * Checks the geocode cache first, then uses the configured geocoder
+     * (Google Maps Geocoding API by default), then the offline gazetteer
      * 
      * @param address The address to geocode
      * @return GeoLocation with lat/lng or null if not found
@@ -53,46 +84,160 @@ public class LocationService {
             return null;
         }
         
+        GeocodeResult result = resolveAddress(address);
+        return result.isOk() ? result.location() : getFallbackCoordinates(address);
+    }
+
+    /**
+     * Resolve an address through the cache and the geocoder, without falling back
+     * Callers that need to react to quota errors (the geocoding pipeline) use this
+     * 
+     * @param address The address to geocode
+     * @return The geocoder's result, or the cached one (remembered failures included)
+     */
+    public GeocodeResult resolveAddress(String address) {
+        if (address == null || address.trim().isEmpty()) {
+            return GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+        }
+        
+        // In-process geocoders (gazetteer, stub) answer faster than any cache tier, and their results aren't stored
+        if (!geocoder.isCacheable()) {
+            return geocoder.geocode(address);
+        }
+        
+        // Punctuation-only or non-Latin addresses have no cache key; look them up uncached
+        String cacheKey = GeocodeCache.normalize(address);
+        if (cacheKey == null) {
+            return geocoder.geocode(address);
+        }
+        GeocodeResult cached = geocodeCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Concurrent callers for the same address share one pending lookup
+        CompletableFuture<GeocodeResult> pending = new CompletableFuture<>();
+        CompletableFuture<GeocodeResult> existing = inFlightLookups.putIfAbsent(cacheKey, pending);
+        if (existing != null) {
+            coalescedLookups.incrementAndGet();
+            return existing.join();
+        }
+        
         try {
-            // If no API key is configured, use fallback coordinates for demo
-            if (googleApiKey == null || googleApiKey.isEmpty()) {
-                return getFallbackCoordinates(address);
+            // A previous owner may have finished (and stored its result) since the miss above
+            cached = geocodeCache.get(cacheKey);
+            if (cached != null) {
+                pending.complete(cached);
+                return cached;
+            }
+            outboundLookups.incrementAndGet();
+            GeocodeResult result = geocoder.geocode(address);
+            if (result.isOk()) {
+                geocodeCache.put(cacheKey, result.location());
+            } else {
+                geocodeCache.putNegative(cacheKey, result);
             }
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(cacheKey, pending);
+        }
+    }
 
-            // Build URL string
-            String encodedAddress = URLEncoder.encode(address, StandardCharsets.UTF_8);
-            String urlString = GEOCODING_API_URL + "?address=" + encodedAddress + "&key=" + googleApiKey;
-            
-            // Use the String overload of getForObject to avoid URI null issues
-            String response = restTemplate.getForObject(urlString, String.class);
-            
-            if (response == null) {
-                return getFallbackCoordinates(address);
+    /**
+     * Geocode many addresses concurrently on virtual threads
+     * At most location.geocode.concurrency lookups run at once; anything not finished
+     * within location.geocode.deadline-ms is cancelled and left out of the result
+     * 
+     * @param addresses The addresses to geocode (duplicates are looked up once)
+     * @return Map of address to location for every address resolved before the deadline
+     */
+    public Map<String, GeoLocation> geocodeAll(Collection<String> addresses) {
+        Map<String, Future<GeoLocation>> lookups = new LinkedHashMap<>();
+        for (String address : addresses) {
+            if (address == null || address.trim().isEmpty() || lookups.containsKey(address)) {
+                continue;
             }
-            
-            JsonNode root = objectMapper.readTree(response);
-
-            String status = root.path("status").asText();
-            if ("OK".equals(status)) {
-                JsonNode results = root.path("results");
-                if (results.isArray() && results.size() > 0) {
-                    JsonNode location = results.get(0).path("geometry").path("location");
-                    double lat = location.path("lat").asDouble();
-                    double lng = location.path("lng").asDouble();
-                    
-                    String formattedAddress = results.get(0).path("formatted_address").asText();
-                    
-                    return new GeoLocation(lat, lng, formattedAddress);
+            lookups.put(address, geocodeExecutor.submit(() -> {
+                geocodePermits.acquire();
+                try {
+                    return geocodeAddress(address);
+                } finally {
+                    geocodePermits.release();
                 }
+            }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(geocodeDeadlineMillis);
+        Map<String, GeoLocation> results = new HashMap<>();
+        for (Map.Entry<String, Future<GeoLocation>> lookup : lookups.entrySet()) {
+            try {
+                GeoLocation location = lookup.getValue().get(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (location != null) {
+                    results.put(lookup.getKey(), location);
+                }
+            } catch (TimeoutException e) {
+                lookup.getValue().cancel(true);
+            } catch (ExecutionException e) {
+                System.err.println("Error geocoding address: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lookups.values().forEach(future -> future.cancel(true));
+                break;
             }
-            
-            System.err.println("Geocoding API returned status: " + status);
-            return getFallbackCoordinates(address);
-            
-        } catch (Exception e) {
-            System.err.println("Error geocoding address: " + e.getMessage());
-            return getFallbackCoordinates(address);
         }
+        return results;
+    }
+
+    /**
+     * Get locations for many providers at once
+     * Stored coordinates are used directly; providers without them are geocoded concurrently
+     * 
+     * @param providers The providers to locate
+     * @return Map of provider ID to location (providers that could not be located are absent)
+     */
+    public Map<Long, GeoLocation> locateProviders(Collection<Provider> providers) {
+        Map<Long, GeoLocation> located = new HashMap<>();
+        Map<Long, String> pending = new HashMap<>();
+
+        for (Provider provider : providers) {
+            if (provider == null || provider.getId() == null || located.containsKey(provider.getId())) {
+                continue;
+            }
+            if (provider.getLatitude() != null && provider.getLongitude() != null) {
+                located.put(provider.getId(), new GeoLocation(
+                        provider.getLatitude(), provider.getLongitude(), provider.getAddress()));
+            } else if (provider.getAddress() != null) {
+                pending.put(provider.getId(), provider.getAddress());
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            Map<String, GeoLocation> geocoded = geocodeAll(pending.values());
+            pending.forEach((providerId, address) -> {
+                GeoLocation location = geocoded.get(address);
+                if (location != null) {
+                    located.put(providerId, location);
+                }
+            });
+        }
+        return located;
+    }
+
+    /**
+     * Geocode cache hit/miss counters plus single-flight coalescing counters
+     */
+    public Map<String, Object> getGeocodeCacheStats() {
+        Map<String, Object> stats = new HashMap<>(geocodeCache.getStats());
+        stats.put("outboundLookups", outboundLookups.get());
+        stats.put("coalescedLookups", coalescedLookups.get());
+        stats.put("inFlightLookups", inFlightLookups.size());
+        stats.put("gazetteer", gazetteer.getStats());
+        return stats;
     }
 
     /**
@@ -107,10 +252,21 @@ public class LocationService {
             return Double.MAX_VALUE;
         }
 
-        double lat1 = Math.toRadians(loc1.getLatitude());
-        double lat2 = Math.toRadians(loc2.getLatitude());
-        double lng1 = Math.toRadians(loc1.getLongitude());
-        double lng2 = Math.toRadians(loc2.getLongitude());
+        return haversineMiles(loc1.getLatitude(), loc1.getLongitude(),
+                loc2.getLatitude(), loc2.getLongitude());
+    }
+
+    /**
+     * Haversine distance between two coordinate pairs given in degrees
+     * 
+     * @return Distance in miles
+     */
+    public static double haversineMiles(double latitude1, double longitude1,
+                                        double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double lng1 = Math.toRadians(longitude1);
+        double lng2 = Math.toRadians(longitude2);
 
         // Haversine formula
         double dLat = lat2 - lat1;
@@ -143,6 +299,41 @@ public class LocationService {
         return calculateDistance(loc1, loc2);
     }
 
+    /**
+     * Get a provider's location from its stored coordinates
+     * Only geocodes the address if the coordinates have not been filled in yet
+     * 
+     * @param provider The provider
+     * @return GeoLocation or null if the provider has no usable address
+     */
+    public GeoLocation locateProvider(Provider provider) {
+        if (provider == null) {
+            return null;
+        }
+        return locate(provider.getLatitude(), provider.getLongitude(), provider.getAddress());
+    }
+
+    /**
+     * Get a customer's location from its stored coordinates
+     * Only geocodes the address if the coordinates have not been filled in yet
+     * 
+     * @param customer The customer
+     * @return GeoLocation or null if the customer has no usable address
+     */
+    public GeoLocation locateCustomer(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+        return locate(customer.getLatitude(), customer.getLongitude(), customer.getAddress());
+    }
+
+    private GeoLocation locate(Double latitude, Double longitude, String address) {
+        if (latitude != null && longitude != null) {
+            return new GeoLocation(latitude, longitude, address);
+        }
+        return geocodeAddress(address);
+    }
+
     /**
      * Check if a location is within a specified radius of another location
      * 
@@ -157,64 +348,25 @@ public class LocationService {
     }
 
     /**
-     * Fallback coordinates for demo purposes when API key is not available
-     * Uses approximate coordinates for common NC cities
+     * Fallback coordinates when the geocoder can't answer (no API key, quota exhausted)
+     * Resolves the address offline from the gazetteer's ZIP and city centroids;
+     * addresses it doesn't recognise get Greensboro center with a small deterministic offset
      */
-    private GeoLocation getFallbackCoordinates(String address) {
+    public GeoLocation getFallbackCoordinates(String address) {
         if (address == null) {
             return new GeoLocation(36.0726, -79.7920, "Unknown Location");
         }
         
-        String lowerAddress = address.toLowerCase();
-        
-        // Greensboro, NC area coordinates
-        if (lowerAddress.contains("greensboro")) {
-            return new GeoLocation(36.0726, -79.7920, address);
-        }
-        // High Point, NC
-        else if (lowerAddress.contains("high point")) {
-            return new GeoLocation(35.9557, -80.0053, address);
-        }
-        // Winston-Salem, NC
-        else if (lowerAddress.contains("winston") || lowerAddress.contains("salem")) {
-            return new GeoLocation(36.0999, -80.2442, address);
-        }
-        // Burlington, NC
-        else if (lowerAddress.contains("burlington")) {
-            return new GeoLocation(36.0957, -79.4378, address);
-        }
-        // Raleigh, NC
-        else if (lowerAddress.contains("raleigh")) {
-            return new GeoLocation(35.7796, -78.6382, address);
-        }
-        // Durham, NC
-        else if (lowerAddress.contains("durham")) {
-            return new GeoLocation(35.9940, -78.8986, address);
-        }
-        // Charlotte, NC
-        else if (lowerAddress.contains("charlotte")) {
-            return new GeoLocation(35.2271, -80.8431, address);
-        }
-        // Asheboro, NC
-        else if (lowerAddress.contains("asheboro")) {
-            return new GeoLocation(35.7079, -79.8136, address);
-        }
-        // Lexington, NC
-        else if (lowerAddress.contains("lexington")) {
-            return new GeoLocation(35.8240, -80.2534, address);
-        }
-        // Thomasville, NC
-        else if (lowerAddress.contains("thomasville")) {
-            return new GeoLocation(35.8826, -80.0820, address);
-        }
-        // Default to Greensboro center with slight deterministic offset for variety
-        else {
-            // Create deterministic offset based on address hash for consistency
-            int hash = address.hashCode();
-            double latOffset = ((hash % 100) / 1000.0) - 0.05;
-            double lngOffset = (((hash / 100) % 100) / 1000.0) - 0.05;
-            return new GeoLocation(36.0726 + latOffset, -79.7920 + lngOffset, address);
+        GeoLocation located = gazetteer.lookup(address);
+        if (located != null) {
+            return located;
         }
+        
+        // Create deterministic offset based on address hash for consistency
+        int hash = address.hashCode();
+        double latOffset = ((hash % 100) / 1000.0) - 0.05;
+        double lngOffset = (((hash / 100) % 100) / 1000.0) - 0.05;
+        return new GeoLocation(36.0726 + latOffset, -79.7920 + lngOffset, address);
     }
 
     /**
@@ -0,0 +1,284 @@
+package com.HomeConnectPro_hub.location;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap geocode store in a memory-mapped file (location.geocode.store.path).
+ *
+ * Open-addressing hash table of fixed-width 48-byte records keyed on the 64-bit
+ * hash of the normalized address:
+ *
+ *   [hash:8][sequence:8][latitude:8][longitude:8][storedAt epoch seconds:8][textOffset:4][textLength:4]
+ *
+ * followed by an append-only text region (64 bytes per slot) holding each
+ * record's formatted address in UTF-8, so a hit answers with the same
+ * formattedAddress as the memory and database tiers. A write that doesn't fit
+ * in the text region is rejected like one over the load factor.
+ *
+ * The file outlives the process, so after a restart every address geocoded
+ * before is answered straight from the page cache - no re-warming and no heap.
+ *
+ * Disabled when no path is configured. Writes are serialized; reads are
+ * lock-free. A new record's hash is published last, and every record is
+ * guarded by a seqlock (the sequence is odd while its fields are being
+ * written), so a reader never pairs a new latitude with an old longitude or
+ * address. Text is written before the record that points at it and never
+ * changes afterwards.
+ */
+@Component
+public class MappedGeocodeStore {
+
+    private static final long MAGIC = 0x48435047454F3033L; // "HCPGEO03"
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 48;
+    private static final int TEXT_BYTES_PER_SLOT = 64;
+    // Header: [magic:8][slots:4][count:4][textUsed:4]
+    private static final int COUNT_OFFSET = 12;
+    private static final int TEXT_USED_OFFSET = 16;
+    // A reader gives up (and misses) if a record keeps changing under it
+    private static final int MAX_READ_ATTEMPTS = 64;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int capacity;
+    private final int textBase;
+    private final int textCapacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int count;
+    private int textUsed;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+
+    public MappedGeocodeStore(@Value("${location.geocode.store.path:}") String path,
+                              @Value("${location.geocode.store.capacity:1048576}") int requestedCapacity) {
+        int slots = Integer.highestOneBit(Math.max(16, requestedCapacity - 1)) << 1;
+        FileChannel openedChannel = null;
+        MappedByteBuffer mapped = null;
+        if (path != null && !path.isBlank()) {
+            try {
+                openedChannel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                mapped = map(openedChannel, Path.of(path), slots);
+            } catch (IOException e) {
+                System.err.println("Geocode store disabled, could not map " + path + ": " + e.getMessage());
+                closeQuietly(openedChannel);
+                openedChannel = null;
+                mapped = null;
+            }
+        }
+        this.capacity = slots;
+        this.textBase = HEADER_BYTES + slots * RECORD_BYTES;
+        this.textCapacity = slots * TEXT_BYTES_PER_SLOT;
+        this.channel = openedChannel;
+        this.buffer = mapped;
+        this.count = (mapped != null) ? mapped.getInt(COUNT_OFFSET) : 0;
+        this.textUsed = (mapped != null) ? mapped.getInt(TEXT_USED_OFFSET) : 0;
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * Look up a normalized address
+     *
+     * @return the stored location or null
+     */
+    public LocationService.GeoLocation get(String normalizedAddress) {
+        if (buffer == null || normalizedAddress == null) {
+            return null;
+        }
+        long hash = hash(normalizedAddress);
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask, probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+            int offset = HEADER_BYTES + slot * RECORD_BYTES;
+            long stored = (long) LONGS.getAcquire(buffer, offset);
+            if (stored == 0) {
+                break;
+            }
+            if (stored == hash) {
+                LocationService.GeoLocation location = readRecord(offset);
+                if (location != null) {
+                    hits.incrementAndGet();
+                    return location;
+                }
+                break;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store (or overwrite) the coordinates and formatted address of a normalized address
+     */
+    public synchronized void put(String normalizedAddress, LocationService.GeoLocation location) {
+        if (buffer == null || normalizedAddress == null || location == null) {
+            return;
+        }
+        long hash = hash(normalizedAddress);
+        int mask = capacity - 1;
+        int slot = (int) hash & mask;
+        while (true) {
+            int offset = HEADER_BYTES + slot * RECORD_BYTES;
+            long stored = (long) LONGS.getAcquire(buffer, offset);
+            if (stored == hash || stored == 0) {
+                byte[] text = location.getFormattedAddress().getBytes(StandardCharsets.UTF_8);
+                if ((stored == 0 && count >= capacity * MAX_LOAD_FACTOR) || text.length > textCapacity - textUsed) {
+                    rejectedWrites.incrementAndGet();
+                    return;
+                }
+                // The text is appended before anything points at it; an overwritten record's old text is left behind
+                int textOffset = textUsed;
+                buffer.put(textBase + textOffset, text);
+                textUsed += text.length;
+                buffer.putInt(TEXT_USED_OFFSET, textUsed);
+
+                // Seqlock: odd while writing (a sequence left odd by a crash is reused), even when done
+                long sequence = ((long) LONGS.get(buffer, offset + 8) & ~1L) + 1;
+                LONGS.setOpaque(buffer, offset + 8, sequence);
+                VarHandle.storeStoreFence();
+                buffer.putDouble(offset + 16, location.getLatitude());
+                buffer.putDouble(offset + 24, location.getLongitude());
+                buffer.putLong(offset + 32, System.currentTimeMillis() / 1000);
+                buffer.putInt(offset + 40, textOffset);
+                buffer.putInt(offset + 44, text.length);
+                LONGS.setRelease(buffer, offset + 8, sequence + 1);
+                if (stored == 0) {
+                    LONGS.setRelease(buffer, offset, hash);
+                    buffer.putInt(COUNT_OFFSET, ++count);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Read a record consistently, retrying while a writer is in the middle of it
+     *
+     * @return the location, or null if the record didn't settle within MAX_READ_ATTEMPTS
+     */
+    private LocationService.GeoLocation readRecord(int offset) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long before = (long) LONGS.getAcquire(buffer, offset + 8);
+            if ((before & 1) == 0) {
+                double latitude = buffer.getDouble(offset + 16);
+                double longitude = buffer.getDouble(offset + 24);
+                int textOffset = buffer.getInt(offset + 40);
+                int textLength = buffer.getInt(offset + 44);
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getOpaque(buffer, offset + 8) == before) {
+                    if (textOffset < 0 || textLength < 0 || textLength > textCapacity - textOffset) {
+                        return null;
+                    }
+                    byte[] text = new byte[textLength];
+                    buffer.get(textBase + textOffset, text);
+                    return new LocationService.GeoLocation(latitude, longitude,
+                            new String(text, StandardCharsets.UTF_8));
+                }
+            }
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("size", count);
+        stats.put("capacity", capacity);
+        stats.put("textBytesUsed", textUsed);
+        stats.put("textBytesCapacity", textCapacity);
+        stats.put("rejectedWrites", rejectedWrites.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+        }
+        closeQuietly(channel);
+    }
+
+    /**
+     * 64-bit FNV-1a over the address characters with a final avalanche step;
+     * 0 is reserved for empty slots
+     */
+    static long hash(String normalizedAddress) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizedAddress.length(); i++) {
+            h ^= normalizedAddress.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (h == 0) ? 1 : h;
+    }
+
+    /**
+     * Map the file, (re)initializing it when it is new or was written with a different layout
+     */
+    private static MappedByteBuffer map(FileChannel channel, Path path, int slots) throws IOException {
+        long size = HEADER_BYTES + (long) slots * (RECORD_BYTES + TEXT_BYTES_PER_SLOT);
+        boolean reuse = false;
+        if (Files.size(path) == size) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            reuse = header.getLong(0) == MAGIC && header.getInt(8) == slots;
+        }
+        if (!reuse) {
+            if (Files.size(path) > 0) {
+                System.err.println("Geocode store " + path + " has a different layout, starting empty");
+            }
+            channel.truncate(0);
+        }
+
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (!reuse) {
+            mapped.putLong(0, MAGIC);
+            mapped.putInt(8, slots);
+            mapped.putInt(COUNT_OFFSET, 0);
+            mapped.putInt(TEXT_USED_OFFSET, 0);
+        }
+        return mapped;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing useful to do on shutdown
+        }
+    }
+}
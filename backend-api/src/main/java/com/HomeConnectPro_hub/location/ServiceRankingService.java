@@ -0,0 +1,160 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.review.ServiceRatingCache;
+import com.HomeConnectPro_hub.service.ActiveServiceCatalog;
+import com.HomeConnectPro_hub.service.ServiceService;
+import com.HomeConnectPro_hub.service.ServiceSummary;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * ============================================================================
+ * Service Ranking - combined relevance of distance, rating, reviews and price
+ * ============================================================================
+ *
+ * Scores every active service within range of the customer as
+ *
+ *   wDistance * (1 - distance / maxDistance)
+ * + wRating   * bayesianRating / 5
+ * + wReviews  * log(1 + reviewCount) / log(1 + maxReviewCount)
+ * + wPrice    * (maxPrice - price) / (maxPrice - minPrice)
+ *
+ * with weights from location.ranking.weight.*. The Bayesian rating pulls
+ * services with few reviews toward the overall average, so one 5-star review
+ * doesn't outrank fifty 4.8s. Candidates come from the spatial index, price
+ * and active state from the active catalog snapshot, ratings from the cached
+ * per-service aggregates, and only the requested page is kept (bounded heap
+ * over the scores). No entities are loaded; results carry service summaries.
+ */
+@org.springframework.stereotype.Service
+public class ServiceRankingService {
+
+    private final ServiceSpatialIndex serviceSpatialIndex;
+    private final ServiceService serviceService;
+    private final ServiceRatingCache serviceRatingCache;
+
+    private final double distanceWeight;
+    private final double ratingWeight;
+    private final double reviewsWeight;
+    private final double priceWeight;
+    private final double ratingPriorCount;
+
+    public ServiceRankingService(ServiceSpatialIndex serviceSpatialIndex,
+                                 ServiceService serviceService,
+                                 ServiceRatingCache serviceRatingCache,
+                                 @Value("${location.ranking.weight.distance:0.4}") double distanceWeight,
+                                 @Value("${location.ranking.weight.rating:0.35}") double ratingWeight,
+                                 @Value("${location.ranking.weight.reviews:0.1}") double reviewsWeight,
+                                 @Value("${location.ranking.weight.price:0.15}") double priceWeight,
+                                 @Value("${location.ranking.rating-prior-count:3}") double ratingPriorCount) {
+        this.serviceSpatialIndex = serviceSpatialIndex;
+        this.serviceService = serviceService;
+        this.serviceRatingCache = serviceRatingCache;
+        this.distanceWeight = distanceWeight;
+        this.ratingWeight = ratingWeight;
+        this.reviewsWeight = reviewsWeight;
+        this.priceWeight = priceWeight;
+        this.ratingPriorCount = ratingPriorCount;
+    }
+
+    /**
+     * One page of services around a location, best score first
+     *
+     * @param location The customer's location
+     * @param maxDistance Search radius in miles
+     * @param page Zero-based page number
+     * @param size Page size
+     */
+    public List<RankedService> rank(LocationService.GeoLocation location, double maxDistance, int page, int size) {
+        List<ServiceSpatialIndex.Hit> hits = serviceSpatialIndex.findWithinRadius(
+                location.getLatitude(), location.getLongitude(), maxDistance);
+        // Pages past the candidates are empty (page comes from the client; long math so it can't overflow)
+        if ((long) page * size >= hits.size()) {
+            return new ArrayList<>();
+        }
+
+        Function<Long, ServiceSummary> summaries = summaryLookup(hits);
+        ServiceRatingCache.Snapshot ratings = serviceRatingCache.getSnapshot();
+
+        // Normalization ranges over the active candidates (the ones that get scored)
+        double minPrice = Double.MAX_VALUE;
+        double maxPrice = 0;
+        long maxReviewCount = 0;
+        for (ServiceSpatialIndex.Hit hit : hits) {
+            ServiceSummary service = summaries.apply(hit.serviceId());
+            if (service == null || !service.active()) {
+                continue;
+            }
+            double price = (service.price() != null) ? service.price() : 0;
+            minPrice = Math.min(minPrice, price);
+            maxPrice = Math.max(maxPrice, price);
+            maxReviewCount = Math.max(maxReviewCount, ratings.get(service.id()).count());
+        }
+        double priceRange = maxPrice - minPrice;
+        double logMaxReviews = Math.log1p(maxReviewCount);
+
+        // Scores are offered negated so the heap's "K smallest" are the K best
+        // No page can hold more than every candidate
+        BoundedDistanceHeap heap = new BoundedDistanceHeap((int) Math.min((long) (page + 1) * size, hits.size()));
+        Map<Long, Double> distances = new HashMap<>();
+        for (ServiceSpatialIndex.Hit hit : hits) {
+            ServiceSummary service = summaries.apply(hit.serviceId());
+            if (service == null || !service.active()) {
+                continue;
+            }
+            ServiceRatingCache.Aggregate rating = ratings.get(service.id());
+            double price = (service.price() != null) ? service.price() : 0;
+
+            double score = distanceWeight * (maxDistance > 0 ? 1 - hit.distance() / maxDistance : 1)
+                    + ratingWeight * bayesianRating(rating, ratings.globalAverage()) / 5.0
+                    + reviewsWeight * (logMaxReviews > 0 ? Math.log1p(rating.count()) / logMaxReviews : 0)
+                    + priceWeight * (priceRange > 0 ? (maxPrice - price) / priceRange : 1);
+            heap.offer(service.id(), -score);
+            distances.put(service.id(), hit.distance());
+        }
+
+        ServiceSpatialIndex.Hit[] best = heap.drainSorted();
+        List<RankedService> ranked = new ArrayList<>(size);
+        for (int i = page * size; i < best.length; i++) {
+            long serviceId = best[i].serviceId();
+            ServiceRatingCache.Aggregate rating = ratings.get(serviceId);
+            ranked.add(new RankedService(summaries.apply(serviceId),
+                    Math.round(distances.get(serviceId) * 10.0) / 10.0,
+                    Math.round(rating.average() * 100.0) / 100.0,
+                    rating.count(),
+                    Math.round(-best[i].distance() * 1000.0) / 1000.0));
+        }
+        return ranked;
+    }
+
+    /**
+     * Summaries of the candidates: from the active catalog snapshot, or one projection query until it is loaded
+     */
+    private Function<Long, ServiceSummary> summaryLookup(List<ServiceSpatialIndex.Hit> hits) {
+        ActiveServiceCatalog.Snapshot catalog = serviceService.getActiveCatalogSnapshot();
+        if (catalog != null) {
+            return catalog::summary;
+        }
+        Map<Long, ServiceSummary> byId = new HashMap<>();
+        serviceService.getServiceSummariesByIds(hits.stream().map(ServiceSpatialIndex.Hit::serviceId).toList())
+                .forEach(summary -> byId.put(summary.id(), summary));
+        return byId::get;
+    }
+
+    private double bayesianRating(ServiceRatingCache.Aggregate rating, double globalAverage) {
+        double denominator = rating.count() + ratingPriorCount;
+        return denominator == 0 ? 0 : (rating.sum() + ratingPriorCount * globalAverage) / denominator;
+    }
+
+    /**
+     * A service with the inputs and result of its score
+     */
+    public record RankedService(ServiceSummary service, double distance, double averageRating,
+                                long reviewCount, double score) {
+    }
+}
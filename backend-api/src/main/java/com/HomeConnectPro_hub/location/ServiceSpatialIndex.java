@@ -0,0 +1,478 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderChangedEvent;
+import com.HomeConnectPro_hub.service.Service;
+import com.HomeConnectPro_hub.service.ServiceChangedEvent;
+import com.HomeConnectPro_hub.service.ServiceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ============================================================================
+ * Service Spatial Index - grid index over active services
+ * ============================================================================
+ *
+ * Active services are bucketed into fixed-size lat/lng grid cells by their
+ * provider's stored coordinates. A radius query only visits the cells that
+ * overlap the query's bounding box, so its cost depends on how many services
+ * are nearby rather than on the size of the catalog.
+ *
+ * Each cell stores its entries as parallel primitive arrays (ids, lats, lngs)
+ * to keep the per-listing footprint small.
+ *
+ * The index is built on startup and then kept current from ServiceChangedEvent
+ * and ProviderChangedEvent. Writers are serialized on the index's monitor and
+ * read the database under it, so two quick writes to the same service or
+ * provider can't apply out of order; the read/write lock only keeps queries
+ * off a half-applied change. Active services whose provider has no coordinates
+ * yet are tracked separately as "unlocated".
+ */
+@Component
+public class ServiceSpatialIndex {
+
+    private static final double MILES_PER_DEGREE_LATITUDE = 69.0;
+
+    private final ServiceRepository serviceRepository;
+    private final double cellSizeDegrees;
+    private final int longitudeCellCount;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> servicesByProvider = new HashMap<>();
+    // Unlocated service -> its provider, so removing one doesn't search every provider
+    private final Map<Long, Long> unlocated = new HashMap<>();
+
+    public ServiceSpatialIndex(ServiceRepository serviceRepository,
+                               @Value("${location.index.cell-size-degrees:0.1}") double cellSizeDegrees) {
+        this.serviceRepository = serviceRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.longitudeCellCount = (int) Math.ceil(360.0 / cellSizeDegrees);
+    }
+
+    /**
+     * Load every active service into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Service> activeServices = serviceRepository.findByActiveTrue();
+
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            entries.clear();
+            servicesByProvider.clear();
+            unlocated.clear();
+            for (Service service : activeServices) {
+                put(service);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a service write (runs after the writing transaction commits)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        Long serviceId = event.serviceId();
+        if (serviceId == null) {
+            return;
+        }
+
+        Service service = (event.type() == ServiceChangedEvent.ChangeType.DELETED)
+                ? null
+                : serviceRepository.findById(serviceId).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+            if (service != null && service.isActive()) {
+                put(service);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-key a provider's services after its coordinates may have changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        Long providerId = event.providerId();
+        if (providerId == null) {
+            return;
+        }
+
+        List<Service> services = event.deleted()
+                ? List.of()
+                : serviceRepository.findByProviderId(providerId);
+
+        lock.writeLock().lock();
+        try {
+            Set<Long> previous = servicesByProvider.get(providerId);
+            if (previous != null) {
+                new ArrayList<>(previous).forEach(this::remove);
+            }
+            for (Service service : services) {
+                remove(service.getId());
+                if (service.isActive()) {
+                    put(service);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find active services within a radius, nearest first
+     *
+     * @param latitude Query point latitude
+     * @param longitude Query point longitude
+     * @param radiusMiles Radius in miles
+     * @return Matching service IDs with their distance in miles
+     */
+    public List<Hit> findWithinRadius(double latitude, double longitude, double radiusMiles) {
+        List<Hit> hits = new ArrayList<>();
+
+        double cosQueryLatitude = Math.cos(Math.toRadians(latitude));
+        double latitudeSpan = radiusMiles / MILES_PER_DEGREE_LATITUDE;
+        double cosLatitude = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latitudeSpan)));
+        double longitudeSpan = radiusMiles / (MILES_PER_DEGREE_LATITUDE * Math.max(cosLatitude, 0.01));
+
+        int minLatCell = latitudeCell(Math.max(-90.0, latitude - latitudeSpan));
+        int maxLatCell = latitudeCell(Math.min(90.0, latitude + latitudeSpan));
+        int minLngCell = (int) Math.floor((longitude - longitudeSpan + 180.0) / cellSizeDegrees);
+        int maxLngCell = (int) Math.floor((longitude + longitudeSpan + 180.0) / cellSizeDegrees);
+        if (maxLngCell - minLngCell + 1 >= longitudeCellCount) {
+            // Query wraps all the way around the globe
+            minLngCell = 0;
+            maxLngCell = longitudeCellCount - 1;
+        }
+
+        lock.readLock().lock();
+        try {
+            long probes = (long) (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+            if (probes > cells.size()) {
+                // Very large radius - cheaper to walk the occupied cells than to probe empty ones
+                for (Map.Entry<Long, Cell> cell : cells.entrySet()) {
+                    int latCell = (int) (cell.getKey() >> 32);
+                    int lngCell = (int) (long) cell.getKey();
+                    if (latCell >= minLatCell && latCell <= maxLatCell
+                            && longitudeCellInRange(lngCell, minLngCell, maxLngCell)) {
+                        collect(cell.getValue(), latitude, longitude, cosQueryLatitude, radiusMiles, hits);
+                    }
+                }
+            } else {
+                for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                    for (int lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                        Cell cell = cells.get(cellKey(latCell, Math.floorMod(lngCell, longitudeCellCount)));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, cosQueryLatitude, radiusMiles, hits);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distance));
+        return hits;
+    }
+
+    /**
+     * Find the K located services nearest to a point, nearest first
+     * 
+     * Scans every cell's primitive arrays with the bulk distance kernel and
+     * feeds them through a bounded heap: O(n log k) time and O(k) allocation.
+     *
+     * @param latitude Query point latitude
+     * @param longitude Query point longitude
+     * @param k Number of services to return
+     */
+    public List<Hit> findNearest(double latitude, double longitude, int k) {
+        BoundedDistanceHeap heap = new BoundedDistanceHeap(k);
+        double[] distances = new double[16];
+
+        lock.readLock().lock();
+        try {
+            for (Cell cell : cells.values()) {
+                distances = cellDistances(cell, latitude, longitude, distances);
+                for (int i = 0; i < cell.size; i++) {
+                    heap.offer(cell.ids[i], distances[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return Arrays.asList(heap.drainSorted());
+    }
+
+    /**
+     * Count located services per distance band around a point
+     * 
+     * Works from per-cell counts: a cell whose whole extent falls inside one
+     * band adds its size in one step, and only cells straddling a band
+     * boundary are scanned entry by entry. The cost is proportional to the
+     * number of occupied cells rather than the number of services.
+     *
+     * @param latitude Query point latitude
+     * @param longitude Query point longitude
+     * @param bandLimits Ascending upper bounds of each band in miles (inclusive)
+     * @return counts[i] for each band, plus a final entry for everything beyond the last bound
+     */
+    public long[] countByDistanceBand(double latitude, double longitude, double[] bandLimits) {
+        long[] counts = new long[bandLimits.length + 1];
+        double[] distances = new double[16];
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                Cell cell = entry.getValue();
+                int latCell = (int) (entry.getKey() >> 32);
+                int lngCell = (int) (long) entry.getKey();
+
+                // Every point in the cell lies within [center - radius, center + radius]
+                double southEdge = latCell * cellSizeDegrees - 90.0;
+                double westEdge = lngCell * cellSizeDegrees - 180.0;
+                double centerLat = southEdge + cellSizeDegrees / 2;
+                double centerLng = westEdge + cellSizeDegrees / 2;
+                double equatorwardEdge = (centerLat >= 0) ? southEdge : southEdge + cellSizeDegrees;
+                double cellRadius = LocationService.haversineMiles(centerLat, centerLng, equatorwardEdge, westEdge) * 1.01;
+                double centerDistance = LocationService.haversineMiles(latitude, longitude, centerLat, centerLng);
+
+                int nearBand = band(centerDistance - cellRadius, bandLimits);
+                int farBand = band(centerDistance + cellRadius, bandLimits);
+                if (nearBand == farBand) {
+                    counts[nearBand] += cell.size;
+                } else {
+                    distances = cellDistances(cell, latitude, longitude, distances);
+                    for (int i = 0; i < cell.size; i++) {
+                        counts[band(distances[i], bandLimits)]++;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Index of the first band whose limit is >= distance, or bandLimits.length if beyond all of them
+     */
+    public static int band(double distance, double[] bandLimits) {
+        for (int i = 0; i < bandLimits.length; i++) {
+            if (distance <= bandLimits[i]) {
+                return i;
+            }
+        }
+        return bandLimits.length;
+    }
+
+    /**
+     * Active services whose provider has no stored coordinates yet
+     */
+    public Set<Long> getUnlocatedServiceIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(unlocated.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of located services in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Internal helpers - callers must hold the write lock
+    // ------------------------------------------------------------------------
+
+    private void put(Service service) {
+        Long serviceId = service.getId();
+        Provider provider = service.getProvider();
+        if (serviceId == null || provider == null) {
+            return;
+        }
+
+        servicesByProvider.computeIfAbsent(provider.getId(), id -> new HashSet<>()).add(serviceId);
+
+        if (provider.getLatitude() == null || provider.getLongitude() == null) {
+            unlocated.put(serviceId, provider.getId());
+            return;
+        }
+
+        double latitude = provider.getLatitude();
+        double longitude = provider.getLongitude();
+        long key = cellKey(latitudeCell(latitude), longitudeCell(longitude));
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        int slot = cell.add(serviceId, latitude, longitude);
+        entries.put(serviceId, new Entry(key, slot, provider.getId()));
+    }
+
+    private void remove(Long serviceId) {
+        Long unlocatedProviderId = unlocated.remove(serviceId);
+        if (unlocatedProviderId != null) {
+            removeFromProvider(unlocatedProviderId, serviceId);
+            return;
+        }
+
+        Entry entry = entries.remove(serviceId);
+        if (entry == null) {
+            return;
+        }
+        removeFromProvider(entry.providerId, serviceId);
+
+        Cell cell = cells.get(entry.cellKey);
+        long movedServiceId = cell.removeAt(entry.slot);
+        if (movedServiceId != serviceId) {
+            // The cell's last element was swapped into the freed slot
+            entries.get(movedServiceId).slot = entry.slot;
+        }
+        if (cell.size == 0) {
+            cells.remove(entry.cellKey);
+        }
+    }
+
+    private void removeFromProvider(Long providerId, Long serviceId) {
+        Set<Long> providerServices = servicesByProvider.get(providerId);
+        if (providerServices != null) {
+            providerServices.remove(serviceId);
+            if (providerServices.isEmpty()) {
+                servicesByProvider.remove(providerId);
+            }
+        }
+    }
+
+    private void collect(Cell cell, double latitude, double longitude, double cosLatitude,
+                         double radiusMiles, List<Hit> hits) {
+        for (int i = 0; i < cell.size; i++) {
+            // Cells on the edge of the bounding box are mostly outside the circle - skip those without trig
+            if (!HaversineKernel.mayBeWithin(latitude, longitude, cosLatitude, cell.lats[i], cell.lngs[i], radiusMiles)) {
+                continue;
+            }
+            double distance = LocationService.haversineMiles(latitude, longitude, cell.lats[i], cell.lngs[i]);
+            if (distance <= radiusMiles) {
+                hits.add(new Hit(cell.ids[i], distance));
+            }
+        }
+    }
+
+    /**
+     * Distances from a point to every entry of a cell, in a buffer grown as needed
+     */
+    private static double[] cellDistances(Cell cell, double latitude, double longitude, double[] buffer) {
+        if (buffer.length < cell.size) {
+            buffer = new double[cell.lats.length];
+        }
+        HaversineKernel.distances(latitude, longitude, cell.lats, cell.lngs, cell.size, buffer);
+        return buffer;
+    }
+
+    private boolean longitudeCellInRange(int lngCell, int minLngCell, int maxLngCell) {
+        // The range may extend past the antimeridian, so compare offsets modulo the cell count
+        return Math.floorMod(lngCell - minLngCell, longitudeCellCount) <= maxLngCell - minLngCell;
+    }
+
+    private int latitudeCell(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+    }
+
+    private int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / cellSizeDegrees), longitudeCellCount);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    /**
+     * A service ID with its distance from the query point
+     */
+    public record Hit(long serviceId, double distance) {
+    }
+
+    /**
+     * Where a service lives in the grid
+     */
+    private static final class Entry {
+        private final long cellKey;
+        private int slot;
+        private final Long providerId;
+
+        private Entry(long cellKey, int slot, Long providerId) {
+            this.cellKey = cellKey;
+            this.slot = slot;
+            this.providerId = providerId;
+        }
+    }
+
+    /**
+     * One grid cell, stored as parallel primitive arrays
+     */
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        private int add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+            }
+            ids[size] = id;
+            lats[size] = latitude;
+            lngs[size] = longitude;
+            return size++;
+        }
+
+        /**
+         * Remove by swapping the last element into the slot
+         *
+         * @return the ID now stored at the slot (the removed ID if it was the last one)
+         */
+        private long removeAt(int slot) {
+            long removedId = ids[slot];
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                lats[slot] = lats[last];
+                lngs[slot] = lngs[last];
+                return ids[slot];
+            }
+            return removedId;
+        }
+    }
+}
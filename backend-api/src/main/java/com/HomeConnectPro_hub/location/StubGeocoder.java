@@ -0,0 +1,65 @@
+package com.HomeConnectPro_hub.location;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the Google geocoder, used to load-test the geocoding
+ * pipeline without calling the real endpoint (location.geocoder=stub).
+ * 
+ * Returns deterministic coordinates spread around a center point, after a
+ * configurable latency, and answers OVER_QUERY_LIMIT at a configurable rate
+ * so the backoff path gets exercised. Results are not cached.
+ */
+@Component
+@ConditionalOnProperty(name = "location.geocoder", havingValue = "stub")
+public class StubGeocoder implements Geocoder {
+
+    @Value("${location.geocoder.stub.latency-ms:50}")
+    private long latencyMillis;
+
+    @Value("${location.geocoder.stub.over-query-limit-rate:0.0}")
+    private double overQueryLimitRate;
+
+    @Value("${location.geocoder.stub.center-latitude:36.0726}")
+    private double centerLatitude;
+
+    @Value("${location.geocoder.stub.center-longitude:-79.7920}")
+    private double centerLongitude;
+
+    @Value("${location.geocoder.stub.spread-degrees:0.5}")
+    private double spreadDegrees;
+
+    @Override
+    public GeocodeResult geocode(String address) {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return GeocodeResult.of(GeocodeResult.Status.ERROR);
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < overQueryLimitRate) {
+            return GeocodeResult.of(GeocodeResult.Status.OVER_QUERY_LIMIT);
+        }
+
+        // Same address always maps to the same point; nothing to place without letters or digits
+        String normalized = GeocodeCache.normalize(address);
+        if (normalized == null) {
+            return GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+        }
+        int hash = normalized.hashCode();
+        double latOffset = ((hash & 0xffff) / 65535.0 - 0.5) * spreadDegrees;
+        double lngOffset = (((hash >>> 16) & 0xffff) / 65535.0 - 0.5) * spreadDegrees;
+        return GeocodeResult.ok(new LocationService.GeoLocation(
+                centerLatitude + latOffset, centerLongitude + lngOffset, address));
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+}
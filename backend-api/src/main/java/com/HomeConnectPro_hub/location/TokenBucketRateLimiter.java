@@ -0,0 +1,70 @@
+package com.HomeConnectPro_hub.location;
+
+/**
+ * Blocking token-bucket rate limiter
+ * 
+ * Tokens refill continuously at permitsPerSecond up to burstCapacity.
+ * acquire() blocks until a token is available. pauseFor() stops all callers
+ * for a while, which is how quota errors from the geocoder are backed off.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burstCapacity;
+
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burstCapacity) {
+        if (permitsPerSecond <= 0 || burstCapacity < 1) {
+            throw new IllegalArgumentException("Rate and burst capacity must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+        this.burstCapacity = burstCapacity;
+        this.tokens = burstCapacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take one token, waiting until one is available
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (now < pausedUntil) {
+                    waitNanos = pausedUntil - now;
+                } else {
+                    refill(now);
+                    if (tokens >= 1.0) {
+                        tokens -= 1.0;
+                        return;
+                    }
+                    waitNanos = (long) Math.ceil((1.0 - tokens) / permitsPerNano);
+                }
+            }
+            Thread.sleep(Math.max(1, waitNanos / 1_000_000), (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    /**
+     * Block all callers for the given time and drop any saved-up burst
+     */
+    public synchronized void pauseFor(long millis) {
+        long until = System.nanoTime() + millis * 1_000_000L;
+        if (until > pausedUntil) {
+            pausedUntil = until;
+        }
+        tokens = 0;
+        lastRefill = until;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(burstCapacity, tokens + (now - lastRefill) * permitsPerNano);
+            lastRefill = now;
+        }
+    }
+}
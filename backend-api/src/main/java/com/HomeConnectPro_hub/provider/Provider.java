@@ -1,9 +1,13 @@
 package com.HomeConnectPro_hub.provider;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "provider")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Provider {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,6 +20,11 @@ public class Provider {
     private String address;
     private String password;
     
+    // Geocoded coordinates of the address, filled in when the address changes
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime geocodedAt;
+    
     private String userType;
     
     private String businessName;
@@ -73,6 +82,30 @@ public class Provider {
         this.address = address;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    public LocalDateTime getGeocodedAt() {
+        return geocodedAt;
+    }
+    
+    public void setGeocodedAt(LocalDateTime geocodedAt) {
+        this.geocodedAt = geocodedAt;
+    }
+    
     public String getPassword() {
         return password;
     }
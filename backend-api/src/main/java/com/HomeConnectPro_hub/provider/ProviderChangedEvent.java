@@ -0,0 +1,8 @@
+package com.HomeConnectPro_hub.provider;
+
+/**
+ * Published whenever a provider is saved or deleted,
+ * so anything keyed on provider data (e.g. coordinates) can refresh itself.
+ */
+public record ProviderChangedEvent(Long providerId, boolean deleted) {
+}
@@ -1,10 +1,13 @@
 package com.HomeConnectPro_hub.provider;
 
+import com.HomeConnectPro_hub.location.GeocodingPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -13,9 +16,34 @@ public class ProviderImplementation implements ProviderService {
     @Autowired
     private ProviderRepository ProviderRepository;
     
+    @Autowired
+    private GeocodingPipeline geocodingPipeline;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Override
     public Provider saveProvider(@NonNull Provider provider) {
-        return ProviderRepository.save(provider);
+        Long id = provider.getId();
+        Provider existing = (id != null) ? ProviderRepository.findById(id).orElse(null) : null;
+        
+        if (existing != null && Objects.equals(existing.getAddress(), provider.getAddress())) {
+            // Address unchanged - keep the coordinates we already have
+            provider.setLatitude(existing.getLatitude());
+            provider.setLongitude(existing.getLongitude());
+            provider.setGeocodedAt(existing.getGeocodedAt());
+        } else {
+            // New or changed address - the geocoding pipeline fills the coordinates in
+            provider.setLatitude(null);
+            provider.setLongitude(null);
+            provider.setGeocodedAt(null);
+        }
+        Provider saved = ProviderRepository.save(provider);
+        if (saved.getGeocodedAt() == null) {
+            geocodingPipeline.enqueueProvider(saved.getId(), saved.getAddress());
+        }
+        eventPublisher.publishEvent(new ProviderChangedEvent(saved.getId(), false));
+        return saved;
     }
     
     @Override
@@ -36,6 +64,7 @@ public class ProviderImplementation implements ProviderService {
     @Override
     public void deleteProvider(@NonNull Long id) {
         ProviderRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProviderChangedEvent(id, true));
     }
 
 }
\ No newline at end of file
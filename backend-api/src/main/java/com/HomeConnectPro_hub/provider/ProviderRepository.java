@@ -1,5 +1,6 @@
 package com.HomeConnectPro_hub.provider;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 import java.util.Optional;
@@ -7,4 +8,5 @@ import java.util.Optional;
 public interface ProviderRepository extends JpaRepository<Provider, Long> {
     Optional<Provider> findByEmailAndPassword(String email, String password);
     List<Provider> findByUserType(String userType);
+    List<Provider> findByGeocodedAtIsNullAndAddressIsNotNullAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 }
\ No newline at end of file
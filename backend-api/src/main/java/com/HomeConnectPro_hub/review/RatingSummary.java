@@ -0,0 +1,98 @@
+package com.HomeConnectPro_hub.review;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rating aggregates for one service or one provider: review count, rating sum
+ * and a 1-5 star histogram. Maintained incrementally by RatingSummaryService
+ * whenever a review is written, so rating reads are a primary-key lookup.
+ *
+ * The version is bumped by the same upsert (RatingSummaryRepository.applyDelta)
+ * and feeds the ETags of the rating endpoints.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "rating_summary")
+@IdClass(RatingSummary.Key.class)
+public class RatingSummary {
+
+    public enum Scope {
+        SERVICE,
+        PROVIDER
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Scope scope;
+
+    @Id
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long rating1;
+
+    @Column(nullable = false)
+    private long rating2;
+
+    @Column(nullable = false)
+    private long rating3;
+
+    @Column(nullable = false)
+    private long rating4;
+
+    @Column(nullable = false)
+    private long rating5;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    public RatingSummary(Scope scope, Long targetId) {
+        this.scope = scope;
+        this.targetId = targetId;
+    }
+
+    /**
+     * Average rating rounded to 2 decimals, 0.0 without reviews
+     */
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : Math.round(ratingSum * 100.0 / reviewCount) / 100.0;
+    }
+
+    /**
+     * Count of each rating 1-5
+     */
+    public Map<Integer, Long> getRatingDistribution() {
+        Map<Integer, Long> distribution = new HashMap<>();
+        distribution.put(1, rating1);
+        distribution.put(2, rating2);
+        distribution.put(3, rating3);
+        distribution.put(4, rating4);
+        distribution.put(5, rating5);
+        return distribution;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Scope scope;
+        private Long targetId;
+    }
+}
@@ -0,0 +1,116 @@
+package com.HomeConnectPro_hub.review;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RatingSummaryRepository extends JpaRepository<RatingSummary, RatingSummary.Key> {
+
+    /**
+     * All summaries of one scope (e.g. every service's)
+     */
+    List<RatingSummary> findByScope(RatingSummary.Scope scope);
+
+    /**
+     * Per-service rating aggregates for every reviewed service of a provider, in one query
+     * (scope is always SERVICE; passed as a parameter since JPQL can't name a nested enum constant)
+     */
+    @Query("SELECT new com.HomeConnectPro_hub.review.ServiceRatingRow(s.id, s.name, rs.reviewCount, rs.ratingSum, "
+            + "rs.rating1, rs.rating2, rs.rating3, rs.rating4, rs.rating5) "
+            + "FROM RatingSummary rs, Service s "
+            + "WHERE rs.scope = :scope AND rs.targetId = s.id AND s.provider.id = :providerId "
+            + "AND rs.reviewCount > 0 "
+            + "ORDER BY s.name")
+    List<ServiceRatingRow> findServiceRatingsByProviderId(@Param("providerId") Long providerId,
+                                                          @Param("scope") RatingSummary.Scope scope);
+
+    // ------------------------------------------------------------------------
+    // Versions behind the rating endpoint ETags - single-row / index lookups
+    // ------------------------------------------------------------------------
+
+    /**
+     * [service version, service summary version (null without reviews)]; empty if the service doesn't exist
+     */
+    @Query("SELECT s.version, rs.version FROM Service s "
+            + "LEFT JOIN RatingSummary rs ON rs.scope = :scope AND rs.targetId = s.id "
+            + "WHERE s.id = :serviceId")
+    List<Object[]> findServiceRatingVersions(@Param("serviceId") Long serviceId,
+                                             @Param("scope") RatingSummary.Scope scope);
+
+    @Query("SELECT rs.version FROM RatingSummary rs WHERE rs.scope = :scope AND rs.targetId = :targetId")
+    Optional<Long> findVersion(@Param("scope") RatingSummary.Scope scope, @Param("targetId") Long targetId);
+
+    /**
+     * Sum of the versions of a provider's reviewed services (their names appear in the provider statistics)
+     */
+    @Query("SELECT COALESCE(SUM(s.version), 0) FROM RatingSummary rs, Service s "
+            + "WHERE rs.scope = :scope AND rs.targetId = s.id AND s.provider.id = :providerId "
+            + "AND rs.reviewCount > 0")
+    long sumReviewedServiceVersions(@Param("providerId") Long providerId,
+                                    @Param("scope") RatingSummary.Scope scope);
+
+    /**
+     * Add a delta to one summary row, creating it if needed
+     * Single atomic upsert, so concurrent reviews of the same service can't lose updates
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rating_summary (scope, target_id, review_count, rating_sum, rating1, rating2, rating3, rating4, rating5)
+            VALUES (:scope, :targetId, :count, :sum, :rating1, :rating2, :rating3, :rating4, :rating5)
+            ON CONFLICT (scope, target_id) DO UPDATE SET
+                review_count = rating_summary.review_count + EXCLUDED.review_count,
+                rating_sum = rating_summary.rating_sum + EXCLUDED.rating_sum,
+                rating1 = rating_summary.rating1 + EXCLUDED.rating1,
+                rating2 = rating_summary.rating2 + EXCLUDED.rating2,
+                rating3 = rating_summary.rating3 + EXCLUDED.rating3,
+                rating4 = rating_summary.rating4 + EXCLUDED.rating4,
+                rating5 = rating_summary.rating5 + EXCLUDED.rating5,
+                version = rating_summary.version + 1
+            """, nativeQuery = true)
+    void applyDelta(@Param("scope") String scope,
+                    @Param("targetId") Long targetId,
+                    @Param("count") long count,
+                    @Param("sum") long sum,
+                    @Param("rating1") long rating1,
+                    @Param("rating2") long rating2,
+                    @Param("rating3") long rating3,
+                    @Param("rating4") long rating4,
+                    @Param("rating5") long rating5);
+
+    /**
+     * Recompute every service summary from the review table
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rating_summary (scope, target_id, review_count, rating_sum, rating1, rating2, rating3, rating4, rating5)
+            SELECT 'SERVICE', r.service_id, COUNT(*), SUM(r.rating),
+                   COUNT(*) FILTER (WHERE r.rating = 1), COUNT(*) FILTER (WHERE r.rating = 2),
+                   COUNT(*) FILTER (WHERE r.rating = 3), COUNT(*) FILTER (WHERE r.rating = 4),
+                   COUNT(*) FILTER (WHERE r.rating = 5)
+            FROM review r
+            GROUP BY r.service_id
+            """, nativeQuery = true)
+    int rebuildServiceSummaries();
+
+    /**
+     * Recompute every provider summary from the review table
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rating_summary (scope, target_id, review_count, rating_sum, rating1, rating2, rating3, rating4, rating5)
+            SELECT 'PROVIDER', s.provider_id, COUNT(*), SUM(r.rating),
+                   COUNT(*) FILTER (WHERE r.rating = 1), COUNT(*) FILTER (WHERE r.rating = 2),
+                   COUNT(*) FILTER (WHERE r.rating = 3), COUNT(*) FILTER (WHERE r.rating = 4),
+                   COUNT(*) FILTER (WHERE r.rating = 5)
+            FROM review r
+            JOIN service s ON s.id = r.service_id
+            GROUP BY s.provider_id
+            """, nativeQuery = true)
+    int rebuildProviderSummaries();
+}
@@ -0,0 +1,140 @@
+package com.HomeConnectPro_hub.review;
+
+import com.HomeConnectPro_hub.service.Service;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ============================================================================
+ * Rating Summary Service - incrementally maintained rating aggregates
+ * ============================================================================
+ *
+ * Keeps one rating_summary row per service and per provider in step with the
+ * review table. Every review write applies a +1/-1 delta to both rows inside
+ * the writer's transaction, so reads never aggregate over reviews.
+ *
+ * Anything that removes reviews (review, service or customer deletion) must
+ * report them here before they are deleted.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Transactional
+public class RatingSummaryService {
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final ReviewRepository reviewRepository;
+    private final ServiceRatingCache serviceRatingCache;
+
+    /**
+     * Build the summaries from existing reviews the first time the table is empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (ratingSummaryRepository.count() == 0 && reviewRepository.count() > 0) {
+            ratingSummaryRepository.rebuildServiceSummaries();
+            ratingSummaryRepository.rebuildProviderSummaries();
+        }
+    }
+
+    public void reviewAdded(Service service, int rating) {
+        apply(service, rating, 1);
+    }
+
+    public void reviewRemoved(Service service, int rating) {
+        apply(service, rating, -1);
+    }
+
+    public void reviewChanged(Service service, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            apply(service, oldRating, -1);
+            apply(service, newRating, 1);
+        }
+    }
+
+    /**
+     * Remove a batch of reviews that are about to be deleted together
+     */
+    public void reviewsRemoved(Collection<Review> reviews) {
+        for (Review review : reviews) {
+            reviewRemoved(review.getService(), review.getRating());
+        }
+    }
+
+    /**
+     * Summary for a service (all zeros if it has no reviews)
+     */
+    @Transactional(readOnly = true)
+    public RatingSummary getServiceSummary(Long serviceId) {
+        return get(RatingSummary.Scope.SERVICE, serviceId);
+    }
+
+    /**
+     * Summary across all of a provider's services (all zeros if none are reviewed)
+     */
+    @Transactional(readOnly = true)
+    public RatingSummary getProviderSummary(Long providerId) {
+        return get(RatingSummary.Scope.PROVIDER, providerId);
+    }
+
+    /**
+     * Per-service aggregates for a provider's reviewed services, as a projection
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceRatingRow> getServiceRatingsByProvider(Long providerId) {
+        return ratingSummaryRepository.findServiceRatingsByProviderId(providerId, RatingSummary.Scope.SERVICE);
+    }
+
+    /**
+     * ETag for a service's average rating: changes with the service (its name) and its summary.
+     * Null if the service doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public String getServiceRatingTag(Long serviceId) {
+        List<Object[]> versions = ratingSummaryRepository.findServiceRatingVersions(serviceId, RatingSummary.Scope.SERVICE);
+        if (versions.isEmpty()) {
+            return null;
+        }
+        Object[] row = versions.get(0);
+        return "service-rating-" + serviceId + "-" + row[0] + "-" + (row[1] != null ? row[1] : "none");
+    }
+
+    /**
+     * ETag for a provider's statistics. Every review change on any of the provider's
+     * services bumps the provider summary, so apart from it only renames of the
+     * reviewed services (their versions) can change the response.
+     */
+    @Transactional(readOnly = true)
+    public String getProviderStatisticsTag(Long providerId) {
+        String summaryVersion = ratingSummaryRepository.findVersion(RatingSummary.Scope.PROVIDER, providerId)
+                .map(String::valueOf)
+                .orElse("none");
+        long serviceVersions = ratingSummaryRepository.sumReviewedServiceVersions(providerId, RatingSummary.Scope.SERVICE);
+        return "provider-statistics-" + providerId + "-" + summaryVersion + "-" + serviceVersions;
+    }
+
+    private RatingSummary get(RatingSummary.Scope scope, Long targetId) {
+        return ratingSummaryRepository.findById(new RatingSummary.Key(scope, targetId))
+                .orElseGet(() -> new RatingSummary(scope, targetId));
+    }
+
+    private void apply(Service service, int rating, int delta) {
+        if (service == null || rating < 1 || rating > 5) {
+            return;
+        }
+        long[] histogram = new long[6];
+        histogram[rating] = delta;
+        ratingSummaryRepository.applyDelta(RatingSummary.Scope.SERVICE.name(), service.getId(), delta, (long) rating * delta,
+                histogram[1], histogram[2], histogram[3], histogram[4], histogram[5]);
+        if (service.getProvider() != null) {
+            ratingSummaryRepository.applyDelta(RatingSummary.Scope.PROVIDER.name(), service.getProvider().getId(),
+                    delta, (long) rating * delta,
+                    histogram[1], histogram[2], histogram[3], histogram[4], histogram[5]);
+        }
+        serviceRatingCache.applyDelta(service.getId(), delta, (long) rating * delta);
+    }
+}
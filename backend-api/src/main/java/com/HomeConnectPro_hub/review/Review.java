@@ -16,19 +16,23 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "review")
+@Table(name = "review", indexes = {
+        @Index(name = "idx_review_created", columnList = "created_at, id"),
+        @Index(name = "idx_review_service_created", columnList = "service_id, created_at, id"),
+        @Index(name = "idx_review_customer_created", columnList = "customer_id, created_at, id")
+})
 public class Review {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @JsonIgnoreProperties({"reviews", "subscriptions"})
     private Customer customer;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_id", nullable = false)
     @JsonIgnoreProperties({"reviews", "subscriptions"})
     private Service service;
@@ -52,6 +56,11 @@ public class Review {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // Optimistic lock for edits and provider responses (existing rows start at 0)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
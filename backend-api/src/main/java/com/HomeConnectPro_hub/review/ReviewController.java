@@ -9,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -117,12 +118,74 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByProviderId(providerId));
     }
     
+    /**
+     * Cursor-paginated feeds, newest first
+     * Pass the previous page's nextCursor to continue; nextCursor is null on the last page
+     * 
+     * GET /api/reviews/feed?cursor={cursor}&limit={count}
+     * GET /api/reviews/service/{serviceId}/feed?cursor={cursor}&limit={count}
+     * GET /api/reviews/customer/{customerId}/feed?cursor={cursor}&limit={count}
+     * GET /api/reviews/provider/{providerId}/feed?cursor={cursor}&limit={count}
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<ReviewPage> getReviewFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getReviewFeed(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/service/{serviceId}/feed")
+    public ResponseEntity<ReviewPage> getServiceReviewFeed(
+            @PathVariable Long serviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getServiceReviewFeed(serviceId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/customer/{customerId}/feed")
+    public ResponseEntity<ReviewPage> getCustomerReviewFeed(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getCustomerReviewFeed(customerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/provider/{providerId}/feed")
+    public ResponseEntity<ReviewPage> getProviderReviewFeed(
+            @PathVariable Long providerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getProviderReviewFeed(providerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get average rating for a service
      * GET /api/reviews/service/{serviceId}/average-rating
+     * Answers If-None-Match with 304 when neither the service nor its ratings changed
      */
     @GetMapping("/service/{serviceId}/average-rating")
-    public ResponseEntity<Map<String, Object>> getServiceAverageRating(@PathVariable @NonNull Long serviceId) {
+    public ResponseEntity<Map<String, Object>> getServiceAverageRating(@PathVariable @NonNull Long serviceId,
+                                                                       WebRequest request) {
+        String etag = reviewService.getServiceRatingTag(serviceId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         Service service = serviceService.getServiceById(serviceId);
         Double averageRating = reviewService.getAverageRating(service);
         Long reviewCount = reviewService.getReviewCount(service);
@@ -139,9 +202,14 @@ public class ReviewController {
     /**
      * Get rating statistics for a provider (Use Case 2.2.1.7 - Part of Customer Statistics)
      * GET /api/reviews/provider/{providerId}/statistics
+     * Answers If-None-Match with 304 when no rating or reviewed service of the provider changed
      */
     @GetMapping("/provider/{providerId}/statistics")
-    public ResponseEntity<Map<String, Object>> getProviderRatingStatistics(@PathVariable Long providerId) {
+    public ResponseEntity<Map<String, Object>> getProviderRatingStatistics(@PathVariable Long providerId,
+                                                                           WebRequest request) {
+        if (request.checkNotModified(reviewService.getProviderStatisticsTag(providerId))) {
+            return null;
+        }
         Map<String, Object> statistics = reviewService.getProviderRatingStatistics(providerId);
         return ResponseEntity.ok(statistics);
     }
@@ -0,0 +1,9 @@
+package com.HomeConnectPro_hub.review;
+
+import java.util.List;
+
+/**
+ * One page of a review feed; nextCursor is null on the last page
+ */
+public record ReviewPage(List<Review> items, String nextCursor) {
+}
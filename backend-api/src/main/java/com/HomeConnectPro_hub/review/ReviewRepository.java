@@ -3,60 +3,85 @@ package com.HomeConnectPro_hub.review;
 import com.HomeConnectPro_hub.customer.Customer;
 import com.HomeConnectPro_hub.service.Service;
 import com.HomeConnectPro_hub.provider.Provider;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Review.customer and Review.service are lazy; the list finders load both (and
+ * the service's provider) in one select, since every review response includes them.
+ */
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
+    @Override
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
+    List<Review> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
+    Optional<Review> findById(Long id);
+    
     /**
      * Find all reviews for a specific service (Use Case 2.2.1.8 - View Reviews)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByService(Service service);
     
     /**
      * Find all reviews by a specific customer
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByCustomer(Customer customer);
     
     /**
      * Find reviews for all services by a specific provider
      * Uses Spring Data JPA path traversal: service.provider
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceProvider(Provider provider);
     
     /**
      * Find reviews by service ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceId(Long serviceId);
     
     /**
      * Find reviews by customer ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByCustomerId(Long customerId);
     
     /**
      * Find reviews by provider ID (through service relationship)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceProviderId(Long providerId);
     
     /**
      * Find reviews for a service ordered by creation date (newest first)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceOrderByCreatedAtDesc(Service service);
     
     /**
      * Find reviews for a service ordered by rating (highest first)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceOrderByRatingDesc(Service service);
     
     /**
      * Find reviews by customer ordered by creation date (newest first)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByCustomerOrderByCreatedAtDesc(Customer customer);
     
     /**
@@ -77,11 +102,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
      * Find reviews with a specific rating for a service
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceAndRating(Service service, Integer rating);
     
     /**
      * Find reviews with rating greater than or equal to a value
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByServiceAndRatingGreaterThanEqual(Service service, Integer rating);
     
     /**
@@ -111,11 +138,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
      * Find recent reviews for a service (limit results)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findTop10ByServiceOrderByCreatedAtDesc(Service service);
     
     /**
      * Find recent reviews for a provider
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findTop10ByServiceProviderOrderByCreatedAtDesc(Provider provider);
     
     /**
@@ -126,5 +155,60 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     /**
      * Find a review by customer and service
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Review> findByCustomerAndService(Customer customer, Service service);
+    
+    // ------------------------------------------------------------------------
+    // Keyset-paginated feeds, newest first on (created_at, id)
+    // The row-value comparison lets Postgres range-scan the (…, created_at, id)
+    // indexes from the cursor instead of counting past an OFFSET. The feed
+    // queries return ids only; the page is then loaded by id with its associations
+    // ------------------------------------------------------------------------
+    
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
+    List<Review> findByIdInOrderByCreatedAtDescIdDesc(Collection<Long> ids);
+    
+    @Query(value = """
+            SELECT r.id FROM review r
+            WHERE (r.created_at, r.id) < (:createdAt, :id)
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              @Param("limit") int limit);
+    
+    @Query(value = """
+            SELECT r.id FROM review r
+            WHERE r.service_id = :serviceId AND (r.created_at, r.id) < (:createdAt, :id)
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findServicePageBefore(@Param("serviceId") Long serviceId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     @Param("limit") int limit);
+    
+    @Query(value = """
+            SELECT r.id FROM review r
+            WHERE r.customer_id = :customerId AND (r.created_at, r.id) < (:createdAt, :id)
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findCustomerPageBefore(@Param("customerId") Long customerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      @Param("limit") int limit);
+    
+    @Query(value = """
+            SELECT r.id FROM review r
+            JOIN service s ON s.id = r.service_id
+            WHERE s.provider_id = :providerId AND (r.created_at, r.id) < (:createdAt, :id)
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findProviderPageBefore(@Param("providerId") Long providerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      @Param("limit") int limit);
 }
\ No newline at end of file
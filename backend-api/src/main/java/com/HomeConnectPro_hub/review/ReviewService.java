@@ -8,13 +8,16 @@ import com.HomeConnectPro_hub.provider.Provider;
 import com.HomeConnectPro_hub.subscription.SubscriptionService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -25,6 +28,13 @@ public class ReviewService {
     private final CustomerService customerService;
     private final ServiceService serviceService;
     private final SubscriptionService subscriptionService;
+    private final RatingSummaryService ratingSummaryService;
+    
+    // Sorts after every real review, so the first page needs no separate query
+    private static final ReviewCursor FIRST_PAGE = new ReviewCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+    
+    @Value("${reviews.feed.max-page-size:100}")
+    private int maxFeedPageSize;
     
     /**
      * Create new review (Use Case 2.2.2.7 - Write Review)
@@ -44,7 +54,7 @@ public class ReviewService {
         if (service == null || serviceId == null) {
             throw new IllegalArgumentException("Service is required");
         }
-        serviceService.getServiceById(serviceId);
+        Service reviewedService = serviceService.getServiceById(serviceId);
         
         if (!subscriptionService.isCustomerSubscribedToService(customer.getId(), service.getId())) {
             throw new RuntimeException("Customer must be subscribed to the service to write a review");
@@ -54,7 +64,9 @@ public class ReviewService {
             throw new IllegalArgumentException("Rating must be between 1 and 5");
         }
         
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        ratingSummaryService.reviewAdded(reviewedService, saved.getRating());
+        return saved;
     }
     
     /**
@@ -77,6 +89,7 @@ public class ReviewService {
      */
     public Review updateReview(@NonNull Long id, Review reviewDetails) {
         Review review = getReviewById(id);
+        int previousRating = review.getRating();
         
         // Update rating and comment
         review.setRating(reviewDetails.getRating());
@@ -87,17 +100,18 @@ public class ReviewService {
             throw new IllegalArgumentException("Rating must be between 1 and 5");
         }
         
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        ratingSummaryService.reviewChanged(saved.getService(), previousRating, saved.getRating());
+        return saved;
     }
     
     /**
      * Delete review
      */
     public void deleteReview(@NonNull Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new EntityNotFoundException("Review not found with id: " + id);
-        }
-        reviewRepository.deleteById(id);
+        Review review = getReviewById(id);
+        ratingSummaryService.reviewRemoved(review.getService(), review.getRating());
+        reviewRepository.delete(review);
     }
     
     /**
@@ -152,27 +166,83 @@ public class ReviewService {
         return reviewRepository.findByServiceProviderId(providerId);
     }
     
+    /**
+     * Newest-first page of all reviews, continuing after the cursor (null for the first page)
+     */
+    public ReviewPage getReviewFeed(String cursor, int limit) {
+        return feedPage(cursor, limit, reviewRepository::findPageBefore);
+    }
+    
+    /**
+     * Newest-first page of a service's reviews
+     */
+    public ReviewPage getServiceReviewFeed(Long serviceId, String cursor, int limit) {
+        return feedPage(cursor, limit, (createdAt, id, size) ->
+                reviewRepository.findServicePageBefore(serviceId, createdAt, id, size));
+    }
+    
+    /**
+     * Newest-first page of a customer's reviews
+     */
+    public ReviewPage getCustomerReviewFeed(Long customerId, String cursor, int limit) {
+        return feedPage(cursor, limit, (createdAt, id, size) ->
+                reviewRepository.findCustomerPageBefore(customerId, createdAt, id, size));
+    }
+    
+    /**
+     * Newest-first page of the reviews on a provider's services
+     */
+    public ReviewPage getProviderReviewFeed(Long providerId, String cursor, int limit) {
+        return feedPage(cursor, limit, (createdAt, id, size) ->
+                reviewRepository.findProviderPageBefore(providerId, createdAt, id, size));
+    }
+    
+    /**
+     * Fetch one id past the page size to know whether another page exists,
+     * then load the page's reviews with their customer, service and provider
+     */
+    private ReviewPage feedPage(String cursor, int limit, FeedQuery query) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, maxFeedPageSize);
+        ReviewCursor after = (cursor == null || cursor.isBlank()) ? FIRST_PAGE : ReviewCursor.decode(cursor);
+        
+        List<Long> ids = query.find(after.createdAt(), after.id(), pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Review> items = ids.isEmpty()
+                ? List.of()
+                : reviewRepository.findByIdInOrderByCreatedAtDescIdDesc(hasMore ? ids.subList(0, pageSize) : ids);
+        if (!hasMore || items.isEmpty()) {
+            return new ReviewPage(items, null);
+        }
+        return new ReviewPage(items, ReviewCursor.of(items.get(items.size() - 1)).encode());
+    }
+    
+    @FunctionalInterface
+    private interface FeedQuery {
+        List<Long> find(LocalDateTime createdAt, Long id, int limit);
+    }
+    
     /**
      * Get average rating for a service
      */
     public Double getAverageRating(Service service) {
-        Double average = reviewRepository.findAverageRatingByService(service);
-        return average != null ? Math.round(average * 100.0) / 100.0 : 0.0;
+        return ratingSummaryService.getServiceSummary(service.getId()).getAverageRating();
     }
     
     /**
      * Get average rating for a provider (across all their services)
      */
     public Double getAverageRatingByProvider(Provider provider) {
-        Double average = reviewRepository.findAverageRatingByProvider(provider);
-        return average != null ? Math.round(average * 100.0) / 100.0 : 0.0;
+        return ratingSummaryService.getProviderSummary(provider.getId()).getAverageRating();
     }
     
     /**
      * Get review count for a service
      */
     public Long getReviewCount(Service service) {
-        return reviewRepository.countByService(service);
+        return ratingSummaryService.getServiceSummary(service.getId()).getReviewCount();
     }
     
     /**
@@ -186,77 +256,88 @@ public class ReviewService {
      * Get review count for a provider
      */
     public Long getReviewCountByProvider(Provider provider) {
-        return reviewRepository.countByServiceProvider(provider);
+        return ratingSummaryService.getProviderSummary(provider.getId()).getReviewCount();
     }
     
     /**
      * Get rating distribution for a service (1-5 star breakdown)
      */
     public Map<Integer, Long> getRatingDistribution(Service service) {
-        List<Object[]> results = reviewRepository.findRatingDistributionByService(service);
-        Map<Integer, Long> distribution = new HashMap<>();
-        
-        // Initialize all ratings to 0
-        for (int i = 1; i <= 5; i++) {
-            distribution.put(i, 0L);
-        }
-        
-        // Fill in actual counts
-        for (Object[] result : results) {
-            Integer rating = (Integer) result[0];
-            Long count = (Long) result[1];
-            distribution.put(rating, count);
-        }
-        
-        return distribution;
+        return ratingSummaryService.getServiceSummary(service.getId()).getRatingDistribution();
     }
     
     /**
      * Get rating distribution for a provider
      */
     public Map<Integer, Long> getRatingDistributionByProvider(Provider provider) {
-        List<Object[]> results = reviewRepository.findRatingDistributionByProvider(provider);
-        Map<Integer, Long> distribution = new HashMap<>();
-        
-        // Initialize all ratings to 0
-        for (int i = 1; i <= 5; i++) {
-            distribution.put(i, 0L);
-        }
-        
-        // Fill in actual counts
-        for (Object[] result : results) {
-            Integer rating = (Integer) result[0];
-            Long count = (Long) result[1];
-            distribution.put(rating, count);
-        }
-        
-        return distribution;
+        return ratingSummaryService.getProviderSummary(provider.getId()).getRatingDistribution();
+    }
+    
+    /**
+     * ETag of getServiceAverageRating's response (null if the service doesn't exist)
+     */
+    public String getServiceRatingTag(Long serviceId) {
+        return ratingSummaryService.getServiceRatingTag(serviceId);
+    }
+    
+    /**
+     * ETag of getProviderRatingStatistics' response
+     */
+    public String getProviderStatisticsTag(Long providerId) {
+        return ratingSummaryService.getProviderStatisticsTag(providerId);
     }
     
     /**
      * Get comprehensive rating statistics for a provider (Use Case 2.2.1.7 - View Customer Statistics)
+     * Everything comes from one projection query over the rating summaries;
+     * provider totals are the sum of the per-service rows
      */
     public Map<String, Object> getProviderRatingStatistics(Long providerId) {
-        Provider provider = new Provider();
-        provider.setId(providerId);
+        List<ServiceRatingRow> rows = ratingSummaryService.getServiceRatingsByProvider(providerId);
         
-        Map<String, Object> statistics = new HashMap<>();
-        statistics.put("providerId", providerId);
-        statistics.put("totalReviews", getReviewCountByProvider(provider));
-        statistics.put("averageRating", getAverageRatingByProvider(provider));
-        statistics.put("ratingDistribution", getRatingDistributionByProvider(provider));
+        long totalReviews = 0;
+        long ratingSum = 0;
+        long[] histogram = new long[6];
+        List<Map<String, Object>> services = new ArrayList<>(rows.size());
+        // Same-named services are merged, as before: name -> {count, sum}
+        Map<String, long[]> totalsByName = new LinkedHashMap<>();
+        for (ServiceRatingRow row : rows) {
+            totalReviews += row.reviewCount();
+            ratingSum += row.ratingSum();
+            histogram[1] += row.rating1();
+            histogram[2] += row.rating2();
+            histogram[3] += row.rating3();
+            histogram[4] += row.rating4();
+            histogram[5] += row.rating5();
+            
+            long[] byName = totalsByName.computeIfAbsent(row.serviceName(), name -> new long[2]);
+            byName[0] += row.reviewCount();
+            byName[1] += row.ratingSum();
+            
+            Map<String, Object> service = new HashMap<>();
+            service.put("serviceId", row.serviceId());
+            service.put("serviceName", row.serviceName());
+            service.put("reviewCount", row.reviewCount());
+            service.put("averageRating", row.averageRating());
+            service.put("ratingDistribution", row.ratingDistribution());
+            services.add(service);
+        }
         
-        // Get ratings for each service
-        List<Review> allReviews = getReviewsByProvider(provider);
-        Map<String, Double> serviceRatings = allReviews.stream()
-                .collect(Collectors.groupingBy(
-                        review -> review.getService().getName(),
-                        Collectors.averagingDouble(Review::getRating)
-                ));
+        Map<Integer, Long> ratingDistribution = new HashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            ratingDistribution.put(i, histogram[i]);
+        }
+        Map<String, Double> serviceRatings = new HashMap<>();
+        totalsByName.forEach((name, totals) ->
+                serviceRatings.put(name, Math.round(totals[1] * 100.0 / totals[0]) / 100.0));
         
-        // Round service ratings
-        serviceRatings.replaceAll((k, v) -> Math.round(v * 100.0) / 100.0);
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("providerId", providerId);
+        statistics.put("totalReviews", totalReviews);
+        statistics.put("averageRating", totalReviews == 0 ? 0.0 : Math.round(ratingSum * 100.0 / totalReviews) / 100.0);
+        statistics.put("ratingDistribution", ratingDistribution);
         statistics.put("serviceRatings", serviceRatings);
+        statistics.put("services", services);
         
         return statistics;
     }
@@ -0,0 +1,150 @@
+package com.HomeConnectPro_hub.review;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory snapshot of review count and rating sum per service.
+ * 
+ * Loaded from the service rows of rating_summary and shared by every reader, so
+ * ranking many services costs one map lookup each instead of one aggregate query
+ * each. A review write applies its delta to a copy of the map once it commits;
+ * the full reload after reviews.rating-cache.ttl-seconds only corrects drift.
+ */
+@Component
+public class ServiceRatingCache {
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final long ttlNanos;
+
+    private volatile Snapshot snapshot;
+
+    public ServiceRatingCache(RatingSummaryRepository ratingSummaryRepository,
+                              @Value("${reviews.rating-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Current aggregates, reloading them first if stale
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || isStale(current)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || isStale(current)) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Add a change to one service's aggregate once the current transaction commits
+     *
+     * @param count Reviews added (negative when removed)
+     * @param sum Rating points added (negative when removed)
+     */
+    public void applyDelta(Long serviceId, long count, long sum) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                snapshot = null;
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(serviceId, count, sum, commitStartedAt);
+            }
+        });
+    }
+
+    /**
+     * Copy-on-write update. A snapshot read before the commit started can't include the
+     * change, so it gets the delta; one read while the commit was in flight may already
+     * include it, so it is dropped and the next reader reloads.
+     */
+    private synchronized void apply(Long serviceId, long count, long sum, long commitStartedAt) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        if (current.loadedAt() - commitStartedAt >= 0) {
+            snapshot = null;
+            return;
+        }
+        Map<Long, Aggregate> byService = new HashMap<>(current.byService());
+        Aggregate previous = byService.getOrDefault(serviceId, Aggregate.EMPTY);
+        Aggregate updated = new Aggregate(previous.count() + count, previous.sum() + sum);
+        if (updated.count() > 0) {
+            byService.put(serviceId, updated);
+        } else {
+            byService.remove(serviceId);
+        }
+        snapshot = new Snapshot(byService, current.totalCount() + count, current.totalSum() + sum, current.loadedAt());
+    }
+
+    private boolean isStale(Snapshot current) {
+        return System.nanoTime() - current.loadedAt() > ttlNanos;
+    }
+
+    private Snapshot load() {
+        Map<Long, Aggregate> byService = new HashMap<>();
+        long totalCount = 0;
+        long totalSum = 0;
+        for (RatingSummary summary : ratingSummaryRepository.findByScope(RatingSummary.Scope.SERVICE)) {
+            byService.put(summary.getTargetId(), new Aggregate(summary.getReviewCount(), summary.getRatingSum()));
+            totalCount += summary.getReviewCount();
+            totalSum += summary.getRatingSum();
+        }
+        return new Snapshot(byService, totalCount, totalSum, System.nanoTime());
+    }
+
+    /**
+     * Review count and rating sum for one service
+     */
+    public record Aggregate(long count, long sum) {
+
+        public static final Aggregate EMPTY = new Aggregate(0, 0);
+
+        public double average() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+    }
+
+    /**
+     * Aggregates for every reviewed service plus the totals across all reviews
+     *
+     * @param loadedAt System.nanoTime() when rating_summary was read
+     */
+    public record Snapshot(Map<Long, Aggregate> byService, long totalCount, long totalSum, long loadedAt) {
+
+        public Aggregate get(Long serviceId) {
+            return byService.getOrDefault(serviceId, Aggregate.EMPTY);
+        }
+
+        /**
+         * Mean rating across all reviews
+         */
+        public double globalAverage() {
+            return totalCount == 0 ? 0.0 : (double) totalSum / totalCount;
+        }
+    }
+}
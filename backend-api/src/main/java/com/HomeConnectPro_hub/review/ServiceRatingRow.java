@@ -0,0 +1,26 @@
+package com.HomeConnectPro_hub.review;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One service's rating aggregates joined with its name, read straight from
+ * rating_summary as a projection (no Review or Service entities are loaded)
+ */
+public record ServiceRatingRow(Long serviceId, String serviceName, long reviewCount, long ratingSum,
+                               long rating1, long rating2, long rating3, long rating4, long rating5) {
+
+    public double averageRating() {
+        return reviewCount == 0 ? 0.0 : Math.round(ratingSum * 100.0 / reviewCount) / 100.0;
+    }
+
+    public Map<Integer, Long> ratingDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, rating1);
+        distribution.put(2, rating2);
+        distribution.put(3, rating3);
+        distribution.put(4, rating4);
+        distribution.put(5, rating5);
+        return distribution;
+    }
+}
@@ -0,0 +1,350 @@
+package com.HomeConnectPro_hub.service;
+
+import com.HomeConnectPro_hub.provider.ProviderChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ============================================================================
+ * Active Service Catalog - versioned in-memory snapshot of the active services
+ * ============================================================================
+ *
+ * Holds every active service (with its provider loaded) in an immutable
+ * snapshot behind an AtomicReference, so getActiveServices() is a volatile
+ * read instead of a query plus entity hydration. The services in a snapshot
+ * are detached and shared by every reader - treat them as read-only.
+ *
+ * A snapshot is a sorted directory of blocks, each holding the services (and
+ * their prebuilt summaries) of one range of 1024 ids. A write copies only the
+ * blocks it touches plus the directory, and reuses every other block, so its
+ * cost depends on the services that changed rather than on the catalog size.
+ *
+ * Writers are serialized and only re-read what changed, then swap in a new
+ * snapshot with the next version:
+ * - ServiceChangedEvent (ServiceService): the one service
+ * - ProviderChangedEvent (ProviderImplementation, geocoding): that provider's services,
+ *   found through a provider -> service ids index
+ *
+ * Versions start at the load time in milliseconds so they don't repeat across
+ * restarts. Until the first load (or with services.active-catalog.enabled=false)
+ * current() is null and callers read the database.
+ */
+@Component
+public class ActiveServiceCatalog {
+
+    private static final int BLOCK_SHIFT = 10;
+
+    private final ServiceRepository serviceRepository;
+    private final boolean enabled;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Writers only: which services each provider has in the snapshot
+    private final Map<Long, Set<Long>> serviceIdsByProvider = new HashMap<>();
+    private final Map<Long, Long> providerByServiceId = new HashMap<>();
+
+    // How long the last load() took, for the stats endpoint
+    private volatile long loadMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ActiveServiceCatalog(ServiceRepository serviceRepository,
+                                @Value("${services.active-catalog.enabled:true}") boolean enabled) {
+        this.serviceRepository = serviceRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        serviceIdsByProvider.clear();
+        providerByServiceId.clear();
+        List<Service> services = serviceRepository.findByActiveTrue();
+        services.forEach(this::track);
+        snapshot.set(Snapshot.EMPTY.apply(start, Set.of(), services));
+        loadMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * The current snapshot, or null if it hasn't been loaded
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        (current != null ? hits : misses).incrementAndGet();
+        return current;
+    }
+
+    /**
+     * Re-read one service after its write commits. Reads happen under the
+     * writer lock so two writes to the same service can't apply out of order.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        Long serviceId = event.serviceId();
+        Snapshot current = snapshot.get();
+        if (current == null || serviceId == null) {
+            return;
+        }
+
+        Service service = (event.type() == ServiceChangedEvent.ChangeType.DELETED)
+                ? null
+                : serviceRepository.findById(serviceId).orElse(null);
+        boolean wasActive = untrack(serviceId);
+        if (service != null && service.isActive()) {
+            track(service);
+            snapshot.set(current.apply(current.version() + 1, Set.of(), List.of(service)));
+        } else if (wasActive) {
+            snapshot.set(current.apply(current.version() + 1, Set.of(serviceId), List.of()));
+        }
+    }
+
+    /**
+     * Re-read a provider's services (name, contact details and coordinates are part of each listing)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        Long providerId = event.providerId();
+        Snapshot current = snapshot.get();
+        if (current == null || providerId == null) {
+            return;
+        }
+
+        Collection<Service> services = event.deleted()
+                ? List.of()
+                : serviceRepository.findByProviderId(providerId);
+        Set<Long> removed = new HashSet<>(serviceIdsByProvider.getOrDefault(providerId, Set.of()));
+        removed.forEach(this::untrack);
+        List<Service> active = new ArrayList<>();
+        for (Service service : services) {
+            if (service.isActive()) {
+                untrack(service.getId());
+                track(service);
+                active.add(service);
+            }
+        }
+        if (!removed.isEmpty() || !active.isEmpty()) {
+            snapshot.set(current.apply(current.version() + 1, removed, active));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", current != null);
+        stats.put("version", current != null ? current.version() : null);
+        stats.put("services", current != null ? current.services().size() : 0);
+        stats.put("blocks", current != null ? current.blocks.length : 0);
+        stats.put("loadMillis", loadMillis);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    // ------------------------------------------------------------------------
+    // Provider index - callers must hold the monitor
+    // ------------------------------------------------------------------------
+
+    private void track(Service service) {
+        Long providerId = service.getProvider().getId();
+        providerByServiceId.put(service.getId(), providerId);
+        serviceIdsByProvider.computeIfAbsent(providerId, id -> new HashSet<>()).add(service.getId());
+    }
+
+    /**
+     * @return whether the service was in the catalog
+     */
+    private boolean untrack(Long serviceId) {
+        Long providerId = providerByServiceId.remove(serviceId);
+        if (providerId == null) {
+            return false;
+        }
+        Set<Long> serviceIds = serviceIdsByProvider.get(providerId);
+        serviceIds.remove(serviceId);
+        if (serviceIds.isEmpty()) {
+            serviceIdsByProvider.remove(providerId);
+        }
+        return true;
+    }
+
+    /**
+     * One immutable view of the active catalog, ordered by service id
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, new long[0], new Block[0]);
+
+        private final long version;
+        private final long[] blockKeys;
+        private final Block[] blocks;
+        // Position of each block's first service in the whole list
+        private final int[] blockStarts;
+        private final int size;
+
+        private Snapshot(long version, long[] blockKeys, Block[] blocks) {
+            this.version = version;
+            this.blockKeys = blockKeys;
+            this.blocks = blocks;
+            this.blockStarts = new int[blocks.length];
+            int total = 0;
+            for (int i = 0; i < blocks.length; i++) {
+                blockStarts[i] = total;
+                total += blocks[i].items.length;
+            }
+            this.size = total;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /**
+         * The summary of one active service, or null if it isn't in the snapshot
+         */
+        public ServiceSummary summary(long serviceId) {
+            int block = Arrays.binarySearch(blockKeys, serviceId >>> BLOCK_SHIFT);
+            if (block < 0) {
+                return null;
+            }
+            Item[] items = blocks[block].items;
+            int low = 0;
+            int high = items.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long id = items[mid].service().getId();
+                if (id < serviceId) {
+                    low = mid + 1;
+                } else if (id > serviceId) {
+                    high = mid - 1;
+                } else {
+                    return items[mid].summary();
+                }
+            }
+            return null;
+        }
+
+        public List<Service> services() {
+            return new View<>() {
+                @Override
+                Service select(Item item) {
+                    return item.service();
+                }
+            };
+        }
+
+        public List<ServiceSummary> summaries() {
+            return new View<>() {
+                @Override
+                ServiceSummary select(Item item) {
+                    return item.summary();
+                }
+            };
+        }
+
+        /**
+         * A new snapshot with the given services removed and the given services added or replaced.
+         * Only the blocks holding those ids are rebuilt; the rest are shared with this snapshot.
+         */
+        Snapshot apply(long newVersion, Collection<Long> removedIds, Collection<Service> upserts) {
+            Map<Long, Map<Long, Item>> changedBlocks = new HashMap<>();
+            for (Long serviceId : removedIds) {
+                block(changedBlocks, serviceId).remove(serviceId);
+            }
+            for (Service service : upserts) {
+                block(changedBlocks, service.getId()).put(service.getId(),
+                        new Item(service, ServiceSummary.of(service)));
+            }
+
+            TreeMap<Long, Block> directory = new TreeMap<>();
+            for (int i = 0; i < blockKeys.length; i++) {
+                if (!changedBlocks.containsKey(blockKeys[i])) {
+                    directory.put(blockKeys[i], blocks[i]);
+                }
+            }
+            changedBlocks.forEach((key, items) -> {
+                if (!items.isEmpty()) {
+                    directory.put(key, new Block(items.values().toArray(Item[]::new)));
+                }
+            });
+
+            long[] newKeys = new long[directory.size()];
+            Block[] newBlocks = new Block[directory.size()];
+            int i = 0;
+            for (Map.Entry<Long, Block> entry : directory.entrySet()) {
+                newKeys[i] = entry.getKey();
+                newBlocks[i++] = entry.getValue();
+            }
+            return new Snapshot(newVersion, newKeys, newBlocks);
+        }
+
+        /**
+         * The editable contents of the block holding a service id, copied from this snapshot on first use
+         */
+        private Map<Long, Item> block(Map<Long, Map<Long, Item>> changedBlocks, long serviceId) {
+            return changedBlocks.computeIfAbsent(serviceId >>> BLOCK_SHIFT, key -> {
+                TreeMap<Long, Item> items = new TreeMap<>();
+                int index = Arrays.binarySearch(blockKeys, key);
+                if (index >= 0) {
+                    for (Item item : blocks[index].items) {
+                        items.put(item.service().getId(), item);
+                    }
+                }
+                return items;
+            });
+        }
+
+        /**
+         * Read-only list over the blocks without copying them
+         */
+        private abstract class View<T> extends AbstractList<T> {
+
+            abstract T select(Item item);
+
+            @Override
+            public T get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                int block = Arrays.binarySearch(blockStarts, index);
+                if (block < 0) {
+                    block = -block - 2;
+                }
+                // Blocks are never empty, so the starts are strictly increasing
+                return select(blocks[block].items[index - blockStarts[block]]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+    }
+
+    /**
+     * The services of one id range, ascending by id
+     */
+    private record Block(Item[] items) {
+    }
+
+    private record Item(Service service, ServiceSummary summary) {
+    }
+}
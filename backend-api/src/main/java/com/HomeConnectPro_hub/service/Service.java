@@ -11,7 +11,17 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "service")
+@Table(name = "service", indexes = {
+    // Paged catalog (ServiceService.getCatalogPage): one index per filter/sort, id as the keyset tiebreaker.
+    // is_active is left as a residual filter - nearly every row is active, so it rejects few rows per page.
+    @Index(name = "idx_service_price_id", columnList = "price, id"),
+    @Index(name = "idx_service_name_id", columnList = "name, id"),
+    @Index(name = "idx_service_type_id", columnList = "service_type, id"),
+    @Index(name = "idx_service_type_price_id", columnList = "service_type, price, id"),
+    @Index(name = "idx_service_type_name_id", columnList = "service_type, name, id"),
+    @Index(name = "idx_service_provider_id", columnList = "provider_id, id")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Service {
     
     @Id
@@ -29,7 +39,7 @@ public class Service {
     @Column(nullable = false)
     private Double price;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "provider_id", nullable = false)
     @JsonIgnoreProperties({"services"})
     private Provider provider;
@@ -40,6 +50,11 @@ public class Service {
     @Column(name = "is_active")
     private boolean active = true;
     
+    // Bumped on every update; part of the ETags of views that show the service (existing rows start at 0)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+    
     // Constructor for easy instantiation
     public Service(String name, String description, Double price, Provider provider) {
         this.name = name;
@@ -0,0 +1,44 @@
+package com.HomeConnectPro_hub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a catalog page sequence: the sort it belongs to and the sort
+ * value and id of the last service returned. Sent to clients as an opaque
+ * URL-safe token.
+ */
+public record ServiceCatalogCursor(ServiceCatalogSort sort, Long id, String value) {
+
+    public static ServiceCatalogCursor of(ServiceCatalogSort sort, ServiceSummary last) {
+        String value = switch (sort.attribute()) {
+            case "price" -> String.valueOf(last.price());
+            case "name" -> last.name();
+            default -> "";
+        };
+        return new ServiceCatalogCursor(sort, last.id(), value);
+    }
+
+    public String encode() {
+        String raw = sort.token() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token wasn't produced by encode()
+     */
+    public static ServiceCatalogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            ServiceCatalogCursor cursor = new ServiceCatalogCursor(
+                    ServiceCatalogSort.parse(parts[0]), Long.parseLong(parts[1]), parts[2]);
+            if ("price".equals(cursor.sort().attribute())) {
+                Double.parseDouble(cursor.value());
+            }
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.HomeConnectPro_hub.service;
+
+/**
+ * Optional catalog filters; a null field is not filtered on
+ */
+public record ServiceCatalogFilter(String serviceType, Double minPrice, Double maxPrice,
+                                   Boolean active, Long providerId) {
+}
@@ -0,0 +1,9 @@
+package com.HomeConnectPro_hub.service;
+
+import java.util.List;
+
+/**
+ * One page of the service catalog; nextCursor is null on the last page
+ */
+public record ServiceCatalogPage(List<ServiceSummary> items, String nextCursor) {
+}
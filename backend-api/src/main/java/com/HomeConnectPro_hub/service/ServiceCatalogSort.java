@@ -0,0 +1,58 @@
+package com.HomeConnectPro_hub.service;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Orderings of the paged catalog; every one ends on id so the keyset is unique.
+ * Written as the attribute name, with a leading '-' for descending ("price", "-name").
+ */
+public enum ServiceCatalogSort {
+    PRICE("price", false),
+    PRICE_DESC("price", true),
+    NAME("name", false),
+    NAME_DESC("name", true),
+    ID("id", false),
+    ID_DESC("id", true);
+
+    private final String attribute;
+    private final boolean descending;
+
+    ServiceCatalogSort(String attribute, boolean descending) {
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String token() {
+        return descending ? "-" + attribute : attribute;
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return "id".equals(attribute)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, attribute).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown sort
+     */
+    public static ServiceCatalogSort parse(String token) {
+        if (token == null || token.isBlank()) {
+            return ID;
+        }
+        for (ServiceCatalogSort sort : values()) {
+            if (sort.token().equalsIgnoreCase(token.trim())) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + token);
+    }
+}
@@ -0,0 +1,16 @@
+package com.HomeConnectPro_hub.service;
+
+/**
+ * Published by ServiceService whenever a service is written.
+ * Listeners (in-memory indexes over the catalog) use it to update themselves incrementally.
+ */
+public record ServiceChangedEvent(Long serviceId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        ACTIVATED,
+        DEACTIVATED,
+        DELETED
+    }
+}
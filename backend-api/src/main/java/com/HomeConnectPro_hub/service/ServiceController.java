@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/services")
@@ -16,12 +18,14 @@ public class ServiceController {
     
     private final ServiceService serviceService;
     
+    // List endpoints return ServiceSummary projections; single-service endpoints return the entity
+    
     /**
      * Get all services
      */
     @GetMapping
-    public ResponseEntity<List<Service>> getAllServices() {
-        return ResponseEntity.ok(serviceService.getAllServices());
+    public ResponseEntity<List<ServiceSummary>> getAllServices() {
+        return ResponseEntity.ok(serviceService.getServiceSummaries());
     }
     
     /**
@@ -64,16 +68,33 @@ public class ServiceController {
      * Get services by provider ID
      */
     @GetMapping("/provider/{providerId}")
-    public ResponseEntity<List<Service>> getServicesByProvider(@PathVariable Long providerId) {
-        return ResponseEntity.ok(serviceService.getServicesByProviderId(providerId));
+    public ResponseEntity<List<ServiceSummary>> getServicesByProvider(@PathVariable Long providerId) {
+        return ResponseEntity.ok(serviceService.getServiceSummariesByProviderId(providerId));
     }
     
     /**
      * Get active services
+     * The ETag is the active catalog snapshot's version, so unchanged catalogs answer 304 without a query
      */
     @GetMapping("/active")
-    public ResponseEntity<List<Service>> getActiveServices() {
-        return ResponseEntity.ok(serviceService.getActiveServices());
+    public ResponseEntity<List<ServiceSummary>> getActiveServices(WebRequest request) {
+        ActiveServiceCatalog.Snapshot snapshot = serviceService.getActiveCatalogSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.ok(serviceService.getActiveServiceSummaries());
+        }
+        if (request.checkNotModified("active-catalog-" + snapshot.version())) {
+            return null;
+        }
+        return ResponseEntity.ok(snapshot.summaries());
+    }
+    
+    /**
+     * Version, size and hit counts of the in-memory active catalog
+     * GET /api/services/active-catalog/stats
+     */
+    @GetMapping("/active-catalog/stats")
+    public ResponseEntity<Map<String, Object>> getActiveCatalogStats() {
+        return ResponseEntity.ok(serviceService.getActiveCatalogStats());
     }
     
     /**
@@ -93,10 +114,55 @@ public class ServiceController {
     }
     
     /**
-     * Search services by name
+     * Paged catalog with filters and a stable sort (price, name or id; prefix '-' for descending).
+     * Pass the returned nextCursor back, with the same filters and sort, for the next page.
+     * GET /api/services/catalog?serviceType=Plumbing&minPrice=50&maxPrice=200&sort=-price&limit=20&cursor={cursor}
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<ServiceCatalogPage> getCatalogPage(
+            @RequestParam(required = false) String serviceType,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "true") Boolean active,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            ServiceCatalogFilter filter = new ServiceCatalogFilter(serviceType, minPrice, maxPrice, active, providerId);
+            return ResponseEntity.ok(serviceService.getCatalogPage(filter, sort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Autocomplete: active service names and types starting with the prefix, most subscribed first
+     * GET /api/services/suggest?prefix=lawn&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ServiceSuggestIndex.Suggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 50) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(serviceService.suggest(prefix, limit));
+    }
+    
+    /**
+     * Search services by name, type and description, best matches first (typos tolerated)
+     * GET /api/services/search?q=plumbr&limit=20 (name= is accepted in place of q)
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Service>> searchServices(@RequestParam String name) {
-        return ResponseEntity.ok(serviceService.searchServicesByName(name));
+    public ResponseEntity<List<ServiceSummary>> searchServices(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "50") int limit) {
+        String query = (q != null) ? q : name;
+        if (query == null || query.isBlank() || limit < 1 || limit > 200) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(serviceService.searchServiceSummaries(query, limit));
     }
 }
@@ -1,41 +1,102 @@
 package com.HomeConnectPro_hub.service;
 
 import com.HomeConnectPro_hub.provider.Provider;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Service.provider is lazy; every finder that hands services to a controller
+ * or to the location index loads the provider in the same select.
+ *
+ * Specifications are used for the paged catalog (ServiceService.getCatalogPage),
+ * whose filter/sort combinations are each backed by an index on Service.
+ */
 @Repository
-public interface ServiceRepository extends JpaRepository<Service, Long> {
+public interface ServiceRepository extends JpaRepository<Service, Long>, JpaSpecificationExecutor<Service> {
+    
+    @Override
+    @EntityGraph(attributePaths = "provider")
+    List<Service> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "provider")
+    List<Service> findAllById(Iterable<Long> ids);
+    
+    @Override
+    @EntityGraph(attributePaths = "provider")
+    Optional<Service> findById(Long id);
     
     /**
      * Find all services by provider
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByProvider(Provider provider);
     
     /**
      * Find services by provider ID
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByProviderId(Long providerId);
     
     /**
      * Find active services
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByActiveTrue();
     
     /**
      * Find active services by provider
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByProviderAndActiveTrue(Provider provider);
     
     /**
      * Find services by service type
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByServiceType(String serviceType);
     
     /**
      * Find services by name containing (case-insensitive search)
      */
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByNameContainingIgnoreCase(String name);
+    
+    // ------------------------------------------------------------------------
+    // ServiceSummary projections for the list endpoints
+    // ------------------------------------------------------------------------
+    
+    String SUMMARY_SELECT = "SELECT new com.HomeConnectPro_hub.service.ServiceSummary(" +
+            "s.id, s.name, s.description, s.price, s.serviceType, s.active, " +
+            "p.id, p.businessName, p.firstName, p.lastName, p.email, p.phone) " +
+            "FROM Service s JOIN s.provider p ";
+    
+    @Query(SUMMARY_SELECT + "ORDER BY s.id")
+    List<ServiceSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE s.active = true ORDER BY s.id")
+    List<ServiceSummary> findActiveSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id = :providerId ORDER BY s.id")
+    List<ServiceSummary> findSummariesByProviderId(@Param("providerId") Long providerId);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.id IN :ids")
+    List<ServiceSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+    List<ServiceSummary> findSummariesByNameContaining(@Param("name") String name);
+    
+    /**
+     * The subset of the given IDs that exist (one query for a whole batch)
+     */
+    @Query("SELECT s.id FROM Service s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
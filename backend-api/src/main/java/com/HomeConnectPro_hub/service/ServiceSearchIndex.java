@@ -0,0 +1,488 @@
+package com.HomeConnectPro_hub.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ============================================================================
+ * Service Search Index - in-process inverted index over the catalog
+ * ============================================================================
+ *
+ * Every service is tokenized on name, service type and description, and each
+ * term maps to the services containing it with a field weight (a name match
+ * counts more than a description match). A query is scored per term as
+ * field weight x IDF, so rare words rank above common ones, and services
+ * matching more of the query words rank first.
+ *
+ * A query word that is not in the vocabulary is matched to terms within one
+ * edit (two for words of 8+ letters), found through a trigram index over the
+ * vocabulary and checked with a bounded edit distance. The last word is also
+ * matched as a prefix, with the same typo tolerance (search as you type).
+ *
+ * Each service gets a dense ordinal, and postings are parallel int/float
+ * arrays of ordinals and weights, so scoring a query is array arithmetic
+ * rather than boxed map lookups.
+ *
+ * Built on startup and kept current from ServiceChangedEvent.
+ */
+@Component
+public class ServiceSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TYPE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double[] TYPO_FACTOR = {1.0, 0.6, 0.35};
+
+    private final ServiceRepository serviceRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> services containing it; sorted so prefixes are a sub-map
+    private final TreeMap<String, Posting> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByService = new HashMap<>();
+    private final Map<Long, Integer> ordinalByService = new HashMap<>();
+    private long[] serviceIdByOrdinal = new long[64];
+    private int ordinalCount;
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private volatile boolean ready;
+
+    public ServiceSearchIndex(ServiceRepository serviceRepository) {
+        this.serviceRepository = serviceRepository;
+    }
+
+    /**
+     * A ranked match
+     */
+    public record Hit(Long serviceId, double score) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Service> services = serviceRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByService.clear();
+            termsByTrigram.clear();
+            ordinalByService.clear();
+            ordinalCount = 0;
+            services.forEach(this::put);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a service write (runs after the writing transaction commits)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceChanged(ServiceChangedEvent event) {
+        Long serviceId = event.serviceId();
+        if (serviceId == null) {
+            return;
+        }
+
+        Service service = (event.type() == ServiceChangedEvent.ChangeType.DELETED)
+                ? null
+                : serviceRepository.findById(serviceId).orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+            if (service != null) {
+                put(service);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the initial build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Best-scoring services for a free-text query, highest score first
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = Math.max(1, termsByService.size());
+            double[] totals = new double[ordinalCount];
+            int[] wordsMatched = new int[ordinalCount];
+            IntList matched = new IntList();
+            for (int i = 0; i < words.size(); i++) {
+                scoreWord(words.get(i), i == words.size() - 1, documents, totals, wordsMatched, matched);
+            }
+            return topHits(totals, wordsMatched, matched, words.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("ready", ready);
+            stats.put("services", termsByService.size());
+            stats.put("terms", postings.size());
+            stats.put("trigrams", termsByTrigram.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add one query word's score to the totals: the best contribution of each
+     * service over the exact, prefix and typo-tolerant expansions of the word
+     */
+    private void scoreWord(String word, boolean last, int documents,
+                           double[] totals, int[] wordsMatched, IntList matched) {
+        Map<String, Double> expansions = expand(word, last);
+        if (expansions.isEmpty()) {
+            return;
+        }
+
+        double[] best = totals;
+        IntList touched = matched;
+        if (expansions.size() > 1) {
+            // Several terms can match the same service; only the best one counts
+            best = new double[ordinalCount];
+            touched = new IntList();
+        }
+        for (Map.Entry<String, Double> expansion : expansions.entrySet()) {
+            Posting posting = postings.get(expansion.getKey());
+            double scale = expansion.getValue() * Math.log(1.0 + (double) documents / posting.size);
+            for (int i = 0; i < posting.size; i++) {
+                int ordinal = posting.ordinals[i];
+                double score = scale * posting.weights[i];
+                if (best == totals) {
+                    if (wordsMatched[ordinal]++ == 0) {
+                        matched.add(ordinal);
+                    }
+                    totals[ordinal] += score;
+                } else {
+                    if (best[ordinal] == 0) {
+                        touched.add(ordinal);
+                    }
+                    best[ordinal] = Math.max(best[ordinal], score);
+                }
+            }
+        }
+        if (best != totals) {
+            for (int i = 0; i < touched.size; i++) {
+                int ordinal = touched.values[i];
+                if (wordsMatched[ordinal]++ == 0) {
+                    matched.add(ordinal);
+                }
+                totals[ordinal] += best[ordinal];
+            }
+        }
+    }
+
+    /**
+     * Vocabulary terms a query word stands for, with the factor applied to their score
+     */
+    private Map<String, Double> expand(String word, boolean last) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(word)) {
+            expansions.put(word, 1.0);
+        }
+        if (last && word.length() >= 2) {
+            for (String term : postings.subMap(word, false, word + Character.MAX_VALUE, false).keySet()) {
+                expansions.putIfAbsent(term, PREFIX_FACTOR);
+            }
+        }
+        // Only words the catalog doesn't contain are treated as typos
+        int maxEdits = maxEdits(word);
+        if (expansions.isEmpty() && maxEdits > 0) {
+            for (String term : typoCandidates(word, maxEdits, last)) {
+                int distance = last
+                        ? prefixEditDistance(word, term, maxEdits)
+                        : editDistance(word, term, maxEdits);
+                if (distance <= maxEdits) {
+                    double factor = TYPO_FACTOR[distance] * ((last && term.length() > word.length()) ? PREFIX_FACTOR : 1.0);
+                    expansions.merge(term, factor, Math::max);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Highest-scoring services, scaled by the share of query words they matched
+     * so a service matching every word outranks one matching some
+     */
+    private List<Hit> topHits(double[] totals, int[] wordsMatched, IntList matched, int wordCount, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::serviceId, Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, ranking);
+        for (int i = 0; i < matched.size; i++) {
+            int ordinal = matched.values[i];
+            double score = totals[ordinal] * wordsMatched[ordinal] / wordCount;
+            if (top.size() < limit || score > top.peek().score()) {
+                top.add(new Hit(serviceIdByOrdinal[ordinal], score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    /**
+     * Vocabulary terms sharing enough trigrams with the word to be within maxEdits
+     * (of the whole term, or of one of its prefixes when asPrefix is set)
+     */
+    private Set<String> typoCandidates(String word, int maxEdits, boolean asPrefix) {
+        List<String> grams = trigrams(word);
+        if (asPrefix) {
+            grams.remove(grams.size() - 1); // the end-of-word gram can't match inside a longer term
+        }
+        // One edit changes at most four of the word's trigrams (a transposition; other edits three)
+        int required = Math.max(1, grams.size() - 4 * maxEdits);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> terms = termsByTrigram.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    if (asPrefix ? term.length() >= word.length() - maxEdits
+                            : Math.abs(term.length() - word.length()) <= maxEdits) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        Set<String> candidates = new HashSet<>();
+        shared.forEach((term, count) -> {
+            if (count >= required) {
+                candidates.add(term);
+            }
+        });
+        return candidates;
+    }
+
+    // ------------------------------------------------------------------------
+    // Internal helpers - callers must hold the write lock
+    // ------------------------------------------------------------------------
+
+    private void put(Service service) {
+        Long serviceId = service.getId();
+        if (serviceId == null) {
+            return;
+        }
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, service.getName(), NAME_WEIGHT);
+        addField(weights, service.getServiceType(), TYPE_WEIGHT);
+        addField(weights, service.getDescription(), DESCRIPTION_WEIGHT);
+
+        int ordinal = ordinalByService.computeIfAbsent(serviceId, id -> {
+            if (ordinalCount == serviceIdByOrdinal.length) {
+                serviceIdByOrdinal = Arrays.copyOf(serviceIdByOrdinal, ordinalCount * 2);
+            }
+            serviceIdByOrdinal[ordinalCount] = id;
+            return ordinalCount++;
+        });
+        weights.forEach((term, weight) -> {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(term, posting);
+                for (String gram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+            posting.add(ordinal, weight);
+        });
+        termsByService.put(serviceId, Set.copyOf(weights.keySet()));
+    }
+
+    private void remove(Long serviceId) {
+        Set<String> terms = termsByService.remove(serviceId);
+        if (terms == null) {
+            return;
+        }
+        // The ordinal stays assigned, so an update re-adds the service in the same slot
+        int ordinal = ordinalByService.get(serviceId);
+        for (String term : terms) {
+            Posting posting = postings.get(term);
+            posting.remove(ordinal);
+            if (posting.size == 0) {
+                postings.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> gramTerms = termsByTrigram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Each distinct term counts once per field; a term in several fields sums their weights
+     */
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String term : new HashSet<>(tokenize(text))) {
+            weights.merge(term, fieldWeight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int maxEdits(String word) {
+        if (word.length() >= 8) {
+            return 2;
+        }
+        return (word.length() >= 4) ? 1 : 0;
+    }
+
+    /**
+     * Trigrams of the word padded with one boundary marker on each side
+     */
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Smallest edit distance between the word and a prefix of the term
+     */
+    static int prefixEditDistance(String word, String term, int max) {
+        int best = max + 1;
+        int from = Math.max(1, word.length() - max);
+        int to = Math.min(term.length(), word.length() + max);
+        for (int length = from; length <= to && best > 0; length++) {
+            best = Math.min(best, editDistance(word, term.substring(0, length), max));
+        }
+        return best;
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent transpositions count as one edit),
+     * giving up with max + 1 as soon as the distance must exceed max
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Services containing one term: ordinals and field weights in parallel arrays
+     */
+    private static final class Posting {
+
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
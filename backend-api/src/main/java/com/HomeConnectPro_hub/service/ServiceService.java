@@ -3,14 +3,29 @@ package com.HomeConnectPro_hub.service;
 import com.HomeConnectPro_hub.provider.Provider;
 import com.HomeConnectPro_hub.provider.ProviderService;
 import com.HomeConnectPro_hub.subscription.SubscriptionRepository;
+import com.HomeConnectPro_hub.review.RatingSummaryService;
+import com.HomeConnectPro_hub.review.Review;
 import com.HomeConnectPro_hub.review.ReviewRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +35,15 @@ public class ServiceService {
     private final ServiceRepository serviceRepository;
     private final ProviderService providerService;
     private final SubscriptionRepository subscriptionRepository;
+    private final ServiceSearchIndex serviceSearchIndex;
+    private final ServiceSuggestIndex serviceSuggestIndex;
+    private final ActiveServiceCatalog activeServiceCatalog;
     private final ReviewRepository reviewRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${services.catalog.max-page-size:100}")
+    private int maxCatalogPageSize;
     
     /**
      * Create a new service
@@ -34,9 +57,13 @@ public class ServiceService {
         if (providerId == null) {
             throw new IllegalArgumentException("Provider ID cannot be null");
         }
-        providerService.getProviderById(providerId);
+        Provider provider = providerService.getProviderById(providerId)
+                .orElseThrow(() -> new EntityNotFoundException("Provider not found with id: " + providerId));
+        service.setProvider(provider);
         
-        return serviceRepository.save(service);
+        com.HomeConnectPro_hub.service.Service saved = serviceRepository.save(service);
+        publish(saved.getId(), ServiceChangedEvent.ChangeType.CREATED);
+        return saved;
     }
     
     /**
@@ -70,9 +97,13 @@ public class ServiceService {
     
     /**
      * Get all active services
+     * Served from the ActiveServiceCatalog snapshot (read-only, shared instances) once it is loaded;
+     * no transaction of its own, so a snapshot read doesn't take a pooled connection
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<com.HomeConnectPro_hub.service.Service> getActiveServices() {
-        return serviceRepository.findByActiveTrue();
+        ActiveServiceCatalog.Snapshot snapshot = activeServiceCatalog.current();
+        return (snapshot != null) ? snapshot.services() : serviceRepository.findByActiveTrue();
     }
     
     /**
@@ -102,7 +133,9 @@ public class ServiceService {
             service.setServiceType(serviceDetails.getServiceType());
         }
         
-        return serviceRepository.save(service);
+        com.HomeConnectPro_hub.service.Service saved = serviceRepository.save(service);
+        publish(id, ServiceChangedEvent.ChangeType.UPDATED);
+        return saved;
     }
     
     /**
@@ -116,11 +149,14 @@ public class ServiceService {
         // Delete all subscriptions for this service
         subscriptionRepository.deleteAll(subscriptionRepository.findByServiceId(id));
         
-        // Delete all reviews for this service
-        reviewRepository.deleteAll(reviewRepository.findByServiceId(id));
+        // Delete all reviews for this service (taking them out of the rating summaries first)
+        List<Review> reviews = reviewRepository.findByServiceId(id);
+        ratingSummaryService.reviewsRemoved(reviews);
+        reviewRepository.deleteAll(reviews);
         
         // Now delete the service
         serviceRepository.delete(service);
+        publish(id, ServiceChangedEvent.ChangeType.DELETED);
     }
     
     /**
@@ -129,7 +165,9 @@ public class ServiceService {
     public com.HomeConnectPro_hub.service.Service deactivateService(@NonNull Long id) {
         com.HomeConnectPro_hub.service.Service service = getServiceById(id);
         service.setActive(false);
-        return serviceRepository.save(service);
+        com.HomeConnectPro_hub.service.Service saved = serviceRepository.save(service);
+        publish(id, ServiceChangedEvent.ChangeType.DEACTIVATED);
+        return saved;
     }
     
     /**
@@ -138,7 +176,23 @@ public class ServiceService {
     public com.HomeConnectPro_hub.service.Service activateService(@NonNull Long id) {
         com.HomeConnectPro_hub.service.Service service = getServiceById(id);
         service.setActive(true);
-        return serviceRepository.save(service);
+        com.HomeConnectPro_hub.service.Service saved = serviceRepository.save(service);
+        publish(id, ServiceChangedEvent.ChangeType.ACTIVATED);
+        return saved;
+    }
+    
+    /**
+     * Get services by a collection of IDs
+     */
+    public List<com.HomeConnectPro_hub.service.Service> getServicesByIds(Iterable<Long> ids) {
+        return serviceRepository.findAllById(ids);
+    }
+    
+    /**
+     * The subset of the given service IDs that exist
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return ids.isEmpty() ? Set.of() : new HashSet<>(serviceRepository.findExistingIds(ids));
     }
     
     /**
@@ -147,4 +201,170 @@ public class ServiceService {
     public List<com.HomeConnectPro_hub.service.Service> searchServicesByName(String name) {
         return serviceRepository.findByNameContainingIgnoreCase(name);
     }
+    
+    // ------------------------------------------------------------------------
+    // List views - projections, no entities loaded
+    // ------------------------------------------------------------------------
+    
+    public List<ServiceSummary> getServiceSummaries() {
+        return serviceRepository.findAllSummaries();
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ServiceSummary> getActiveServiceSummaries() {
+        ActiveServiceCatalog.Snapshot snapshot = activeServiceCatalog.current();
+        return (snapshot != null) ? snapshot.summaries() : serviceRepository.findActiveSummaries();
+    }
+    
+    /**
+     * The current active catalog snapshot, or null until it is loaded
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ActiveServiceCatalog.Snapshot getActiveCatalogSnapshot() {
+        return activeServiceCatalog.current();
+    }
+    
+    public Map<String, Object> getActiveCatalogStats() {
+        return activeServiceCatalog.getStats();
+    }
+    
+    public List<ServiceSummary> getServiceSummariesByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : serviceRepository.findSummariesByIdIn(ids);
+    }
+    
+    public List<ServiceSummary> getServiceSummariesByProviderId(Long providerId) {
+        return serviceRepository.findSummariesByProviderId(providerId);
+    }
+    
+    public List<ServiceSummary> searchServiceSummariesByName(String name) {
+        return serviceRepository.findSummariesByNameContaining(name);
+    }
+    
+    /**
+     * One page of the catalog, filtered and sorted, continuing after the cursor.
+     * Keyset paging: each page is a range scan on the index matching the
+     * filter/sort (see Service), so page N costs the same as page 1.
+     */
+    public ServiceCatalogPage getCatalogPage(ServiceCatalogFilter filter, String sortToken, String cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (filter.minPrice() != null && filter.maxPrice() != null && filter.minPrice() > filter.maxPrice()) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        int pageSize = Math.min(limit, maxCatalogPageSize);
+        ServiceCatalogSort sort = ServiceCatalogSort.parse(sortToken);
+        ServiceCatalogCursor after = (cursor == null || cursor.isBlank()) ? null : ServiceCatalogCursor.decode(cursor);
+        if (after != null && after.sort() != sort) {
+            throw new IllegalArgumentException("Cursor does not belong to sort " + sort.token());
+        }
+        
+        Specification<com.HomeConnectPro_hub.service.Service> spec = catalogFilter(filter);
+        if (after != null) {
+            spec = spec.and(after(sort, after));
+        }
+        // One row past the page tells whether another page exists
+        List<ServiceSummary> rows = serviceRepository.findBy(spec, query -> query
+                .sortBy(sort.toSort())
+                .limit(pageSize + 1)
+                .project("provider")
+                .all())
+                .stream()
+                .map(ServiceSummary::of)
+                .toList();
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<ServiceSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ServiceCatalogCursor.of(sort, items.get(pageSize - 1)).encode() : null;
+        return new ServiceCatalogPage(items, nextCursor);
+    }
+    
+    private static Specification<com.HomeConnectPro_hub.service.Service> catalogFilter(ServiceCatalogFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.serviceType() != null) {
+                predicates.add(cb.equal(root.get("serviceType"), filter.serviceType()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.active() != null) {
+                predicates.add(cb.equal(root.get("active"), filter.active()));
+            }
+            if (filter.providerId() != null) {
+                predicates.add(cb.equal(root.get("provider").get("id"), filter.providerId()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+    
+    /**
+     * Rows strictly after the cursor in sort order: (value, id) > (cursorValue, cursorId).
+     * The leading value >= cursorValue bound is redundant but gives the planner an index range to start from.
+     */
+    private static Specification<com.HomeConnectPro_hub.service.Service> after(ServiceCatalogSort sort,
+                                                                             ServiceCatalogCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = sort.isDescending()
+                    ? cb.lessThan(id, cursor.id())
+                    : cb.greaterThan(id, cursor.id());
+            if ("id".equals(sort.attribute())) {
+                return idAfter;
+            }
+            
+            Path<Comparable<Object>> value = root.get(sort.attribute());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> bound = (Comparable<Object>) (Comparable<?>) ("price".equals(sort.attribute())
+                    ? Double.valueOf(cursor.value())
+                    : cursor.value());
+            if (sort.isDescending()) {
+                return cb.and(cb.lessThanOrEqualTo(value, bound),
+                        cb.or(cb.lessThan(value, bound), cb.and(cb.equal(value, bound), idAfter)));
+            }
+            return cb.and(cb.greaterThanOrEqualTo(value, bound),
+                    cb.or(cb.greaterThan(value, bound), cb.and(cb.equal(value, bound), idAfter)));
+        };
+    }
+    
+    /**
+     * Prefix completions over active service names and types (ServiceSuggestIndex)
+     */
+    public List<ServiceSuggestIndex.Suggestion> suggest(String prefix, int limit) {
+        return serviceSuggestIndex.suggest(prefix, limit);
+    }
+    
+    /**
+     * Ranked, typo-tolerant search over name, type and description (ServiceSearchIndex).
+     * Falls back to a name match until the index has been built.
+     */
+    public List<ServiceSummary> searchServiceSummaries(String query, int limit) {
+        if (!serviceSearchIndex.isReady()) {
+            return searchServiceSummariesByName(query).stream().limit(limit).toList();
+        }
+        List<ServiceSearchIndex.Hit> hits = serviceSearchIndex.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ServiceSummary> byId = new HashMap<>();
+        for (ServiceSummary summary : serviceRepository.findSummariesByIdIn(
+                hits.stream().map(ServiceSearchIndex.Hit::serviceId).toList())) {
+            byId.put(summary.id(), summary);
+        }
+        // Keep the index's ranking; a service deleted since the search is simply skipped
+        return hits.stream()
+                .map(hit -> byId.get(hit.serviceId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Notify in-memory catalog indexes of a write (delivered after the transaction commits)
+     */
+    private void publish(Long serviceId, ServiceChangedEvent.ChangeType type) {
+        eventPublisher.publishEvent(new ServiceChangedEvent(serviceId, type));
+    }
 }
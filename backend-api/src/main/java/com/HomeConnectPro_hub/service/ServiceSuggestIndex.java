@@ -0,0 +1,221 @@
+package com.HomeConnectPro_hub.service;
+
+import com.HomeConnectPro_hub.subscription.SubscriptionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ============================================================================
+ * Service Suggest Index - prefix autocomplete over active services
+ * ============================================================================
+ *
+ * Active service names and service types are kept in a sorted map keyed on
+ * their lower-cased text, so the completions of a prefix are one contiguous
+ * range. Each completion is weighted by the subscriptions of the services
+ * behind it, and the top N of the range are picked with a bounded heap.
+ *
+ * Reads are lock-free (completions are immutable and replaced on change);
+ * writes are serialized. The index is updated per service from
+ * ServiceChangedEvent (create, update, activate, deactivate, delete).
+ * Every services.suggest.weight-refresh-ms only the subscription counts are
+ * re-read; the completions are rebuilt from the entries already held into a
+ * new map that is swapped in whole, so readers never see a partial index.
+ */
+@Component
+public class ServiceSuggestIndex {
+
+    public enum Kind {
+        NAME,
+        TYPE
+    }
+
+    /**
+     * One completion: the text as first written, and the services it stands for
+     */
+    public record Suggestion(String text, Kind kind, long subscriptions, int services) {
+    }
+
+    private record Entry(String name, String serviceType, long subscriptions) {
+    }
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::subscriptions)
+            .thenComparingInt(Suggestion::services)
+            .thenComparing(Suggestion::text, Comparator.reverseOrder());
+
+    private final ServiceRepository serviceRepository;
+    private final SubscriptionRepository subscriptionRepository;
+
+    // "<lower-case text>\0<kind>" -> completion
+    private volatile ConcurrentSkipListMap<String, Suggestion> suggestions = new ConcurrentSkipListMap<>();
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    public ServiceSuggestIndex(ServiceRepository serviceRepository,
+                               SubscriptionRepository subscriptionRepository) {
+        this.serviceRepository = serviceRepository;
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    /**
+     * Load every active service with its subscription count.
+     * Holds the writer lock while loading so no service change slips in between.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, Long> subscriptionCounts = subscriptionCounts();
+        Map<Long, Entry> loaded = new HashMap<>();
+        for (Service service : serviceRepository.findByActiveTrue()) {
+            loaded.put(service.getId(), new Entry(service.getName(), service.getServiceType(),
+                    subscriptionCounts.getOrDefault(service.getId(), 0L)));
+        }
+        install(loaded);
+    }
+
+    /**
+     * Re-weight the completions with fresh subscription counts (services are not re-read)
+     */
+    @Scheduled(initialDelayString = "${services.suggest.weight-refresh-ms:300000}",
+               fixedDelayString = "${services.suggest.weight-refresh-ms:300000}")
+    public void refreshWeights() {
+        Map<Long, Long> subscriptionCounts = subscriptionCounts();
+        synchronized (this) {
+            Map<Long, Entry> reweighted = new HashMap<>(entries.size() * 2);
+            entries.forEach((serviceId, entry) -> reweighted.put(serviceId, new Entry(entry.name(),
+                    entry.serviceType(), subscriptionCounts.getOrDefault(serviceId, 0L))));
+            install(reweighted);
+        }
+    }
+
+    /**
+     * Apply a service write (runs after the writing transaction commits)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceChanged(ServiceChangedEvent event) {
+        Long serviceId = event.serviceId();
+        if (serviceId == null) {
+            return;
+        }
+
+        Service service = (event.type() == ServiceChangedEvent.ChangeType.DELETED)
+                ? null
+                : serviceRepository.findById(serviceId).orElse(null);
+        long subscriptions = (service != null && service.isActive())
+                ? subscriptionRepository.countByServiceId(serviceId)
+                : 0;
+
+        synchronized (this) {
+            remove(serviceId);
+            if (service != null && service.isActive()) {
+                put(serviceId, new Entry(service.getName(), service.getServiceType(), subscriptions));
+            }
+        }
+    }
+
+    /**
+     * Top completions of a prefix, most subscribed first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null || limit < 1) {
+            return List.of();
+        }
+
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, RANKING);
+        for (Suggestion suggestion : suggestions.subMap(normalized, normalized + Character.MAX_VALUE).values()) {
+            if (top.size() < limit) {
+                top.add(suggestion);
+            } else if (RANKING.compare(suggestion, top.peek()) > 0) {
+                top.poll();
+                top.add(suggestion);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(RANKING.reversed());
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("completions", suggestions.size());
+        synchronized (this) {
+            stats.put("services", entries.size());
+        }
+        return stats;
+    }
+
+    // ------------------------------------------------------------------------
+    // Internal helpers - callers must hold the monitor
+    // ------------------------------------------------------------------------
+
+    /**
+     * Build the completions of a full set of entries off to the side, then swap both in
+     */
+    private void install(Map<Long, Entry> newEntries) {
+        ConcurrentSkipListMap<String, Suggestion> built = new ConcurrentSkipListMap<>();
+        for (Entry entry : newEntries.values()) {
+            adjust(built, entry.name(), Kind.NAME, entry.subscriptions(), 1);
+            adjust(built, entry.serviceType(), Kind.TYPE, entry.subscriptions(), 1);
+        }
+        entries = newEntries;
+        suggestions = built;
+    }
+
+    private void put(Long serviceId, Entry entry) {
+        entries.put(serviceId, entry);
+        adjust(suggestions, entry.name(), Kind.NAME, entry.subscriptions(), 1);
+        adjust(suggestions, entry.serviceType(), Kind.TYPE, entry.subscriptions(), 1);
+    }
+
+    private void remove(Long serviceId) {
+        Entry entry = entries.remove(serviceId);
+        if (entry != null) {
+            adjust(suggestions, entry.name(), Kind.NAME, -entry.subscriptions(), -1);
+            adjust(suggestions, entry.serviceType(), Kind.TYPE, -entry.subscriptions(), -1);
+        }
+    }
+
+    private static void adjust(ConcurrentSkipListMap<String, Suggestion> target, String text, Kind kind,
+                               long subscriptions, int services) {
+        String normalized = normalize(text);
+        if (normalized == null) {
+            return;
+        }
+        target.compute(normalized + '\0' + kind, (key, current) -> {
+            if (current == null) {
+                return (services > 0) ? new Suggestion(text.trim(), kind, subscriptions, services) : null;
+            }
+            int remaining = current.services() + services;
+            return (remaining <= 0)
+                    ? null
+                    : new Suggestion(current.text(), kind, current.subscriptions() + subscriptions, remaining);
+        });
+    }
+
+    private Map<Long, Long> subscriptionCounts() {
+        Map<Long, Long> subscriptionCounts = new HashMap<>();
+        for (Object[] row : subscriptionRepository.countGroupedByServiceId()) {
+            subscriptionCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return subscriptionCounts;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
@@ -0,0 +1,39 @@
+package com.HomeConnectPro_hub.service;
+
+import com.HomeConnectPro_hub.provider.Provider;
+
+/**
+ * Read-only view of a service for catalog and dashboard lists, selected with a
+ * JPQL constructor expression so no Service or Provider entity is loaded.
+ *
+ * Serializes with the same shape as the Service entity, minus the provider
+ * fields the UI never renders (address, coordinates, credentials, ...).
+ */
+public record ServiceSummary(Long id, String name, String description, Double price, String serviceType,
+                             boolean active, ProviderInfo provider) {
+
+    /**
+     * Flat form used by the repository queries
+     */
+    public ServiceSummary(Long id, String name, String description, Double price, String serviceType,
+                          Boolean active, Long providerId, String businessName, String firstName,
+                          String lastName, String email, String phone) {
+        this(id, name, description, price, serviceType, Boolean.TRUE.equals(active),
+                new ProviderInfo(providerId, businessName, firstName, lastName, email, phone));
+    }
+
+    /**
+     * From a loaded service whose provider is initialized
+     */
+    public static ServiceSummary of(Service service) {
+        Provider provider = service.getProvider();
+        return new ServiceSummary(service.getId(), service.getName(), service.getDescription(), service.getPrice(),
+                service.getServiceType(), service.isActive(),
+                new ProviderInfo(provider.getId(), provider.getBusinessName(), provider.getFirstName(),
+                        provider.getLastName(), provider.getEmail(), provider.getPhone()));
+    }
+
+    public record ProviderInfo(Long id, String businessName, String firstName, String lastName,
+                               String email, String phone) {
+    }
+}
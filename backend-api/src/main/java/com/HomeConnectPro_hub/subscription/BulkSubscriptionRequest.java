@@ -0,0 +1,29 @@
+package com.HomeConnectPro_hub.subscription;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body for POST /api/subscriptions/bulk and /api/subscriptions/bulk/unsubscribe
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSubscriptionRequest {
+
+    private List<Pair> subscriptions = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pair {
+
+        private Long customerId;
+
+        private Long serviceId;
+    }
+}
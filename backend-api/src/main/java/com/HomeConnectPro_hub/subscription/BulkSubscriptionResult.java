@@ -0,0 +1,11 @@
+package com.HomeConnectPro_hub.subscription;
+
+/**
+ * Outcome of a bulk subscribe or unsubscribe
+ *
+ * @param requested pairs in the request
+ * @param applied   subscriptions created (or deleted)
+ * @param unchanged pairs that were already subscribed (or not subscribed), including duplicates
+ */
+public record BulkSubscriptionResult(int requested, int applied, int unchanged) {
+}
@@ -2,6 +2,7 @@ package com.HomeConnectPro_hub.subscription;
 
 import com.HomeConnectPro_hub.customer.CustomerService;
 import com.HomeConnectPro_hub.service.ServiceService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,7 +10,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.lang.NonNull;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subscriptions")
@@ -25,8 +28,8 @@ public class SubscriptionController {
      * Get all subscriptions
      */
     @GetMapping
-    public ResponseEntity<List<Subscription>> getAllSubscriptions() {
-        return ResponseEntity.ok(subscriptionService.getAllSubscriptions());
+    public ResponseEntity<List<SubscriptionSummary>> getAllSubscriptions() {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionSummaries());
     }
     
     /**
@@ -47,21 +50,51 @@ public class SubscriptionController {
                 .body(subscriptionService.createSubscription(subscription));
     }
     
+    /**
+     * Subscribe many (customerId, serviceId) pairs in one request
+     * POST /api/subscriptions/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkSubscribe(@RequestBody BulkSubscriptionRequest request) {
+        try {
+            return ResponseEntity.ok(subscriptionService.subscribeAll(request.getSubscriptions()));
+        } catch (IllegalArgumentException | EntityNotFoundException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Unsubscribe many (customerId, serviceId) pairs in one request
+     * POST /api/subscriptions/bulk/unsubscribe
+     */
+    @PostMapping("/bulk/unsubscribe")
+    public ResponseEntity<?> bulkUnsubscribe(@RequestBody BulkSubscriptionRequest request) {
+        try {
+            return ResponseEntity.ok(subscriptionService.unsubscribeAll(request.getSubscriptions()));
+        } catch (IllegalArgumentException | EntityNotFoundException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get subscriptions by customer ID
      * Use Case 2.2.2.6 - View My Subscriptions
      */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Subscription>> getSubscriptionsByCustomer(@PathVariable Long customerId) {
-        return ResponseEntity.ok(subscriptionService.getSubscriptionsByCustomerId(customerId));
+    public ResponseEntity<List<SubscriptionSummary>> getSubscriptionsByCustomer(@PathVariable Long customerId) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionSummariesByCustomerId(customerId));
     }
     
     /**
      * Get subscriptions by service ID
      */
     @GetMapping("/service/{serviceId}")
-    public ResponseEntity<List<Subscription>> getSubscriptionsByService(@PathVariable Long serviceId) {
-        return ResponseEntity.ok(subscriptionService.getSubscriptionsByServiceId(serviceId));
+    public ResponseEntity<List<SubscriptionSummary>> getSubscriptionsByService(@PathVariable Long serviceId) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionSummariesByServiceId(serviceId));
     }
     
     /**
@@ -69,8 +102,8 @@ public class SubscriptionController {
      * Use Case 2.2.1.7 - View Statistics
      */
     @GetMapping("/provider/{providerId}")
-    public ResponseEntity<List<Subscription>> getSubscriptionsByProvider(@PathVariable Long providerId) {
-        return ResponseEntity.ok(subscriptionService.getSubscriptionsByProviderId(providerId));
+    public ResponseEntity<List<SubscriptionSummary>> getSubscriptionsByProvider(@PathVariable Long providerId) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptionSummariesByProviderId(providerId));
     }
     
     /**
@@ -123,4 +156,13 @@ public class SubscriptionController {
                 serviceService.getServiceById(serviceId));
         return ResponseEntity.ok(count);
     }
+    
+    /**
+     * Membership index counters
+     * GET /api/subscriptions/membership-index/stats
+     */
+    @GetMapping("/membership-index/stats")
+    public ResponseEntity<Map<String, Object>> getMembershipIndexStats() {
+        return ResponseEntity.ok(subscriptionService.getMembershipIndexStats());
+    }
 }
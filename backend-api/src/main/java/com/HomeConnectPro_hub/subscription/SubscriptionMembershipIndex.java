@@ -0,0 +1,192 @@
+package com.HomeConnectPro_hub.subscription;
+
+import com.HomeConnectPro_hub.service.ServiceChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ============================================================================
+ * Subscription Membership Index - in-memory (customerId, serviceId) set
+ * ============================================================================
+ *
+ * Answers "is this customer subscribed to this service" without a database
+ * round trip. Each customer maps to a sorted long[] of service ids, replaced
+ * copy-on-write on change, so reads are a lock-free binary search.
+ *
+ * Loaded once the application is ready; until then (or when
+ * subscriptions.membership-index.enabled=false) lookups go to the database. Changes are applied after their transaction commits:
+ * - SubscriptionService.createSubscription / both delete paths
+ * - CustomerService.deleteCustomer (subscriptions cascade with the customer)
+ * - ServiceChangedEvent DELETED (ServiceService deletes the service's subscriptions)
+ *
+ * The index only sees writes made through this process.
+ */
+@Component
+public class SubscriptionMembershipIndex {
+
+    private static final long[] NONE = new long[0];
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<Long, long[]> servicesByCustomer = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    // How long the last load() took, for the stats endpoint
+    private volatile long loadMillis;
+
+    // Changes committed while the initial load is running, replayed on top of it
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public SubscriptionMembershipIndex(SubscriptionRepository subscriptionRepository,
+                                       @Value("${subscriptions.membership-index.enabled:true}") boolean enabled) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, List<Long>> loaded = new HashMap<>();
+        for (Object[] pair : subscriptionRepository.findAllCustomerServicePairs()) {
+            loaded.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+
+        synchronized (this) {
+            servicesByCustomer.clear();
+            loaded.forEach((customerId, serviceIds) -> servicesByCustomer.put(customerId,
+                    serviceIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+            ready = true;
+        }
+        loadMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Whether the customer is subscribed to the service; asks the database until the index is loaded
+     */
+    public boolean isSubscribed(Long customerId, Long serviceId) {
+        if (customerId == null || serviceId == null) {
+            return false;
+        }
+        if (!ready) {
+            fallbacks.incrementAndGet();
+            return subscriptionRepository.existsByCustomerIdAndServiceId(customerId, serviceId);
+        }
+        lookups.incrementAndGet();
+        long[] serviceIds = servicesByCustomer.getOrDefault(customerId, NONE);
+        return Arrays.binarySearch(serviceIds, serviceId) >= 0;
+    }
+
+    public void subscribed(Long customerId, Long serviceId) {
+        afterCommit(() -> servicesByCustomer.compute(customerId, (id, current) -> with(current, serviceId)));
+    }
+
+    public void unsubscribed(Long customerId, Long serviceId) {
+        afterCommit(() -> servicesByCustomer.computeIfPresent(customerId, (id, current) -> without(current, serviceId)));
+    }
+
+    public void customerDeleted(Long customerId) {
+        afterCommit(() -> servicesByCustomer.remove(customerId));
+    }
+
+    /**
+     * ServiceService removes a deleted service's subscriptions in the same transaction
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceChanged(ServiceChangedEvent event) {
+        if (event.type() != ServiceChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        Long serviceId = event.serviceId();
+        apply(() -> servicesByCustomer.keySet().forEach(customerId ->
+                servicesByCustomer.computeIfPresent(customerId, (id, current) -> without(current, serviceId))));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("loadMillis", loadMillis);
+        stats.put("customers", servicesByCustomer.size());
+        stats.put("subscriptions", servicesByCustomer.values().stream().mapToLong(ids -> ids.length).sum());
+        stats.put("lookups", lookups.get());
+        stats.put("fallbacks", fallbacks.get());
+        return stats;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            pendingChanges.add(change);
+        }
+        change.run();
+    }
+
+    private static long[] with(long[] current, long serviceId) {
+        if (current == null) {
+            return new long[] {serviceId};
+        }
+        int at = Arrays.binarySearch(current, serviceId);
+        if (at >= 0) {
+            return current;
+        }
+        int insertAt = -at - 1;
+        long[] next = new long[current.length + 1];
+        System.arraycopy(current, 0, next, 0, insertAt);
+        next[insertAt] = serviceId;
+        System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+        return next;
+    }
+
+    private static long[] without(long[] current, long serviceId) {
+        int at = Arrays.binarySearch(current, serviceId);
+        if (at < 0) {
+            return current;
+        }
+        if (current.length == 1) {
+            return null;
+        }
+        long[] next = new long[current.length - 1];
+        System.arraycopy(current, 0, next, 0, at);
+        System.arraycopy(current, at + 1, next, at, current.length - at - 1);
+        return next;
+    }
+}
@@ -3,36 +3,56 @@ package com.HomeConnectPro_hub.subscription;
 import com.HomeConnectPro_hub.customer.Customer;
 import com.HomeConnectPro_hub.service.Service;
 import com.HomeConnectPro_hub.provider.Provider;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Subscription.customer and Subscription.service are lazy; the list finders load
+ * both (and the service's provider) in one select, since every subscription
+ * response includes them.
+ */
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
     
+    @Override
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
+    List<Subscription> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
+    Optional<Subscription> findById(Long id);
+    
     /**
      * Find all subscriptions for a specific customer
      * Use Case 2.2.2.6 - View My Subscriptions
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByCustomer(Customer customer);
     
     /**
      * Find all subscriptions for a specific service
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByService(Service service);
     
     /**
      * Find subscriptions by customer ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByCustomerId(Long customerId);
     
     /**
      * Find subscriptions by service ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByServiceId(Long serviceId);
     
     /**
@@ -44,6 +64,7 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     /**
      * Find subscription by customer ID and service ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     Optional<Subscription> findByCustomerIdAndServiceId(Long customerId, Long serviceId);
     
     /**
@@ -57,15 +78,39 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
      */
     boolean existsByCustomerIdAndServiceId(Long customerId, Long serviceId);
     
+    /**
+     * Every (customerId, serviceId) pair, for loading SubscriptionMembershipIndex
+     */
+    @Query("SELECT s.customer.id, s.service.id FROM Subscription s")
+    List<Object[]> findAllCustomerServicePairs();
+    
+    /**
+     * (id, customerId, serviceId) of the subscriptions among the given customers and services,
+     * so a bulk request checks existence with one query
+     */
+    @Query("SELECT s.id, s.customer.id, s.service.id FROM Subscription s " +
+           "WHERE s.customer.id IN :customerIds AND s.service.id IN :serviceIds")
+    List<Object[]> findPairsAmong(@Param("customerIds") Collection<Long> customerIds,
+                                  @Param("serviceIds") Collection<Long> serviceIds);
+    
+    /**
+     * Delete subscriptions by ID in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find all subscriptions for services by a specific provider
      * Uses Spring Data JPA path traversal: service.provider
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByServiceProvider(Provider provider);
     
     /**
      * Find all subscriptions for a provider by provider ID
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByServiceProviderId(Long providerId);
     
     /**
@@ -74,6 +119,17 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
      */
     long countByService(Service service);
     
+    /**
+     * Count subscriptions for a service by ID
+     */
+    long countByServiceId(Long serviceId);
+    
+    /**
+     * (serviceId, subscription count) for every subscribed service
+     */
+    @Query("SELECT s.service.id, COUNT(s) FROM Subscription s GROUP BY s.service.id")
+    List<Object[]> countGroupedByServiceId();
+    
     /**
      * Count subscriptions for a specific customer
      */
@@ -82,6 +138,7 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     /**
      * Find subscriptions ordered by subscription date (newest first)
      */
+    @EntityGraph(attributePaths = {"customer", "service", "service.provider"})
     List<Subscription> findByCustomerOrderBySubscribedAtDesc(Customer customer);
     
     /**
@@ -89,8 +146,32 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
      * Using JPQL for more complex queries
      */
     @Query("SELECT s FROM Subscription s " +
+           "JOIN FETCH s.customer " +
            "JOIN FETCH s.service serv " +
            "JOIN FETCH serv.provider " +
            "WHERE s.customer = :customer")
     List<Subscription> findByCustomerWithServiceAndProvider(@Param("customer") Customer customer);
+    
+    // ------------------------------------------------------------------------
+    // SubscriptionSummary projections for the list endpoints
+    // ------------------------------------------------------------------------
+    
+    String SUMMARY_SELECT = "SELECT new com.HomeConnectPro_hub.subscription.SubscriptionSummary(" +
+            "sub.id, sub.subscribedAt, " +
+            "c.id, c.firstName, c.lastName, c.email, " +
+            "s.id, s.name, s.description, s.price, s.serviceType, s.active, " +
+            "p.id, p.businessName, p.firstName, p.lastName, p.email, p.phone) " +
+            "FROM Subscription sub JOIN sub.customer c JOIN sub.service s JOIN s.provider p ";
+    
+    @Query(SUMMARY_SELECT + "ORDER BY sub.id")
+    List<SubscriptionSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId ORDER BY sub.subscribedAt DESC")
+    List<SubscriptionSummary> findSummariesByCustomerId(@Param("customerId") Long customerId);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.id = :serviceId ORDER BY sub.subscribedAt DESC")
+    List<SubscriptionSummary> findSummariesByServiceId(@Param("serviceId") Long serviceId);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id = :providerId ORDER BY sub.subscribedAt DESC")
+    List<SubscriptionSummary> findSummariesByProviderId(@Param("providerId") Long providerId);
 }
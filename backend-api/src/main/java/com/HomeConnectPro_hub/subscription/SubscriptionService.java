@@ -7,10 +7,21 @@ import com.HomeConnectPro_hub.service.ServiceService;
 import com.HomeConnectPro_hub.provider.Provider;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -20,6 +31,14 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final CustomerService customerService;
     private final ServiceService serviceService;
+    private final SubscriptionMembershipIndex membershipIndex;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${subscriptions.bulk.max-pairs:1000}")
+    private int maxBulkPairs;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
     
     /**
      * Create new subscription (Use Case 2.2.2.5 - Subscribe to Service)
@@ -47,7 +66,9 @@ public class SubscriptionService {
             throw new RuntimeException("Customer is already subscribed to this service");
         }
         
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        membershipIndex.subscribed(customerId, serviceId);
+        return saved;
     }
     
     /**
@@ -108,6 +129,26 @@ public class SubscriptionService {
         return subscriptionRepository.findByServiceProviderId(providerId);
     }
     
+    // ------------------------------------------------------------------------
+    // List views - projections, no entities loaded
+    // ------------------------------------------------------------------------
+    
+    public List<SubscriptionSummary> getSubscriptionSummaries() {
+        return subscriptionRepository.findAllSummaries();
+    }
+    
+    public List<SubscriptionSummary> getSubscriptionSummariesByCustomerId(Long customerId) {
+        return subscriptionRepository.findSummariesByCustomerId(customerId);
+    }
+    
+    public List<SubscriptionSummary> getSubscriptionSummariesByServiceId(Long serviceId) {
+        return subscriptionRepository.findSummariesByServiceId(serviceId);
+    }
+    
+    public List<SubscriptionSummary> getSubscriptionSummariesByProviderId(Long providerId) {
+        return subscriptionRepository.findSummariesByProviderId(providerId);
+    }
+    
     /**
      * Delete subscription (unsubscribe)
      */
@@ -115,6 +156,7 @@ public class SubscriptionService {
     public void deleteSubscription(@NonNull Long id) {
         Subscription subscription = getSubscriptionById(id);
         subscriptionRepository.delete(subscription);
+        membershipIndex.unsubscribed(subscription.getCustomer().getId(), subscription.getService().getId());
     }
     
     /**
@@ -126,14 +168,130 @@ public class SubscriptionService {
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Subscription not found for customer " + customerId + " and service " + serviceId));
         subscriptionRepository.delete(subscription);
+        membershipIndex.unsubscribed(customerId, serviceId);
+    }
+    
+    // ------------------------------------------------------------------------
+    // Bulk subscribe / unsubscribe
+    // ------------------------------------------------------------------------
+    
+    /**
+     * Subscribe many (customer, service) pairs in one transaction:
+     * one query checks that the customers and services exist, one finds the pairs
+     * already subscribed, and the rest are inserted as one JDBC batch.
+     * Existing subscriptions and duplicate pairs are skipped, not errors.
+     */
+    public BulkSubscriptionResult subscribeAll(List<BulkSubscriptionRequest.Pair> pairs) {
+        Set<Key> requested = validateBulk(pairs);
+        Map<Key, Long> existing = findExisting(requested);
+        
+        List<Key> toInsert = requested.stream()
+                .filter(key -> !existing.containsKey(key))
+                .collect(Collectors.toList());
+        
+        // Subscription ids are IDENTITY columns, which Hibernate never batches on insert,
+        // so the rows go through JdbcTemplate on the same transaction's connection
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO subscription (customer_id, service_id, subscribed_at) VALUES (?, ?, ?)",
+                toInsert, jdbcBatchSize, (statement, key) -> {
+                    statement.setLong(1, key.customerId());
+                    statement.setLong(2, key.serviceId());
+                    statement.setTimestamp(3, now);
+                });
+        
+        toInsert.forEach(key -> membershipIndex.subscribed(key.customerId(), key.serviceId()));
+        return new BulkSubscriptionResult(pairs.size(), toInsert.size(), pairs.size() - toInsert.size());
+    }
+    
+    /**
+     * Unsubscribe many (customer, service) pairs with one lookup and one DELETE.
+     * Pairs that are not subscribed are skipped.
+     */
+    public BulkSubscriptionResult unsubscribeAll(List<BulkSubscriptionRequest.Pair> pairs) {
+        Set<Key> requested = validateBulk(pairs);
+        Map<Key, Long> existing = findExisting(requested);
+        
+        List<Long> idsToDelete = new ArrayList<>();
+        for (Key key : requested) {
+            Long subscriptionId = existing.get(key);
+            if (subscriptionId != null) {
+                idsToDelete.add(subscriptionId);
+                membershipIndex.unsubscribed(key.customerId(), key.serviceId());
+            }
+        }
+        int deleted = idsToDelete.isEmpty() ? 0 : subscriptionRepository.deleteAllByIdIn(idsToDelete);
+        return new BulkSubscriptionResult(pairs.size(), deleted, pairs.size() - deleted);
+    }
+    
+    /**
+     * Check the request shape and that every customer and service exists
+     *
+     * @return the distinct pairs, in request order
+     */
+    private Set<Key> validateBulk(List<BulkSubscriptionRequest.Pair> pairs) {
+        if (pairs == null || pairs.isEmpty()) {
+            throw new IllegalArgumentException("At least one subscription is required");
+        }
+        if (pairs.size() > maxBulkPairs) {
+            throw new IllegalArgumentException("At most " + maxBulkPairs + " subscriptions per request");
+        }
+        
+        Set<Key> requested = new LinkedHashSet<>();
+        for (BulkSubscriptionRequest.Pair pair : pairs) {
+            if (pair == null || pair.getCustomerId() == null || pair.getServiceId() == null) {
+                throw new IllegalArgumentException("Each subscription needs a customerId and a serviceId");
+            }
+            requested.add(new Key(pair.getCustomerId(), pair.getServiceId()));
+        }
+        
+        Set<Long> customerIds = requested.stream().map(Key::customerId).collect(Collectors.toSet());
+        Set<Long> serviceIds = requested.stream().map(Key::serviceId).collect(Collectors.toSet());
+        
+        Set<Long> missingCustomers = new HashSet<>(customerIds);
+        missingCustomers.removeAll(customerService.findExistingIds(customerIds));
+        if (!missingCustomers.isEmpty()) {
+            throw new EntityNotFoundException("Customers not found: " + missingCustomers);
+        }
+        Set<Long> missingServices = new HashSet<>(serviceIds);
+        missingServices.removeAll(serviceService.findExistingIds(serviceIds));
+        if (!missingServices.isEmpty()) {
+            throw new EntityNotFoundException("Services not found: " + missingServices);
+        }
+        return requested;
+    }
+    
+    /**
+     * Existing subscription id per requested pair, from one query over the customers x services involved
+     */
+    private Map<Key, Long> findExisting(Set<Key> requested) {
+        Set<Long> customerIds = requested.stream().map(Key::customerId).collect(Collectors.toSet());
+        Set<Long> serviceIds = requested.stream().map(Key::serviceId).collect(Collectors.toSet());
+        
+        Map<Key, Long> existing = new HashMap<>();
+        for (Object[] row : subscriptionRepository.findPairsAmong(customerIds, serviceIds)) {
+            Key key = new Key((Long) row[1], (Long) row[2]);
+            if (requested.contains(key)) {
+                existing.putIfAbsent(key, (Long) row[0]);
+            }
+        }
+        return existing;
+    }
+    
+    private record Key(Long customerId, Long serviceId) {
     }
     
     /**
      * Check if a customer is subscribed to a service
      * Useful for validating reviews (customer must be subscribed to review)
+     * Answered from SubscriptionMembershipIndex once it is loaded
      */
     public boolean isCustomerSubscribedToService(Long customerId, Long serviceId) {
-        return subscriptionRepository.existsByCustomerIdAndServiceId(customerId, serviceId);
+        return membershipIndex.isSubscribed(customerId, serviceId);
+    }
+    
+    public Map<String, Object> getMembershipIndexStats() {
+        return membershipIndex.getStats();
     }
     
     /**
@@ -0,0 +1,33 @@
+package com.HomeConnectPro_hub.subscription;
+
+import com.HomeConnectPro_hub.service.ServiceSummary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a subscription for the subscription lists, selected with a
+ * JPQL constructor expression. Same shape as the Subscription entity, with only
+ * the customer and service fields the UI renders.
+ */
+public record SubscriptionSummary(Long id, LocalDateTime subscribedAt, CustomerInfo customer,
+                                  ServiceSummary service) {
+
+    /**
+     * Flat form used by the repository queries
+     */
+    public SubscriptionSummary(Long id, LocalDateTime subscribedAt,
+                               Long customerId, String customerFirstName, String customerLastName,
+                               String customerEmail,
+                               Long serviceId, String serviceName, String description, Double price,
+                               String serviceType, Boolean active,
+                               Long providerId, String businessName, String firstName, String lastName,
+                               String email, String phone) {
+        this(id, subscribedAt,
+                new CustomerInfo(customerId, customerFirstName, customerLastName, customerEmail),
+                new ServiceSummary(serviceId, serviceName, description, price, serviceType, active,
+                        providerId, businessName, firstName, lastName, email, phone));
+    }
+
+    public record CustomerInfo(Long id, String firstName, String lastName, String email) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.HomeConnectPro_hub;
+
+import com.HomeConnectPro_hub.customer.Customer;
+import com.HomeConnectPro_hub.customer.CustomerRepository;
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderRepository;
+import com.HomeConnectPro_hub.review.Review;
+import com.HomeConnectPro_hub.review.ReviewRepository;
+import com.HomeConnectPro_hub.service.Service;
+import com.HomeConnectPro_hub.service.ServiceRepository;
+import com.HomeConnectPro_hub.subscription.Subscription;
+import com.HomeConnectPro_hub.subscription.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ============================================================================
+ * Query Count Test - SQL statements per hot list endpoint
+ * ============================================================================
+ *
+ * Seeds several providers, services, customers, reviews and subscriptions,
+ * then counts the statements each list endpoint runs (JSON serialization
+ * included) with QueryCounter. Each budget is what the endpoint needs for any
+ * number of rows, so an association that starts loading per row fails here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTest {
+
+    private static final int PROVIDERS = 3;
+    private static final int SERVICES_PER_PROVIDER = 3;
+    private static final int CUSTOMERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private Provider provider;
+    private Service service;
+    private Customer customer;
+
+    @BeforeAll
+    void seed() {
+        List<Service> services = new ArrayList<>();
+        for (int p = 0; p < PROVIDERS; p++) {
+            Provider saved = new Provider();
+            saved.setFirstName("Provider");
+            saved.setLastName(String.valueOf(p));
+            saved.setEmail("provider" + p + "@example.com");
+            saved.setBusinessName("Business " + p);
+            saved = providerRepository.save(saved);
+            for (int s = 0; s < SERVICES_PER_PROVIDER; s++) {
+                Service listing = new Service("Service " + p + "-" + s, "Description", 50.0 + s, saved);
+                listing.setServiceType(s % 2 == 0 ? "Plumbing" : "Cleaning");
+                services.add(serviceRepository.save(listing));
+            }
+            provider = (provider == null) ? saved : provider;
+        }
+
+        for (int c = 0; c < CUSTOMERS; c++) {
+            Customer saved = new Customer();
+            saved.setFirstName("Customer");
+            saved.setLastName(String.valueOf(c));
+            saved.setEmail("customer" + c + "@example.com");
+            saved.setPhoneNumber("555-010" + c);
+            saved.setAddress("Raleigh, NC");
+            saved.setPassword("password");
+            saved = customerRepository.save(saved);
+            for (Service listing : services) {
+                subscriptionRepository.save(new Subscription(saved, listing));
+                reviewRepository.save(new Review(saved, listing, 1 + (c % 5), "Review " + c));
+            }
+            customer = (customer == null) ? saved : customer;
+        }
+        service = services.get(0);
+    }
+
+    @Test
+    void reviewListsLoadAssociationsWithTheirPage() throws Exception {
+        assertStatements(1, "/api/reviews");
+        assertStatements(2, "/api/reviews/service/" + service.getId());
+        assertStatements(2, "/api/reviews/customer/" + customer.getId());
+        assertStatements(1, "/api/reviews/provider/" + provider.getId());
+    }
+
+    @Test
+    void reviewFeedsLoadIdsThenOnePage() throws Exception {
+        assertStatements(2, "/api/reviews/feed?limit=10");
+        assertStatements(2, "/api/reviews/service/" + service.getId() + "/feed?limit=10");
+        assertStatements(2, "/api/reviews/customer/" + customer.getId() + "/feed?limit=10");
+        assertStatements(2, "/api/reviews/provider/" + provider.getId() + "/feed?limit=10");
+    }
+
+    @Test
+    void subscriptionListsAreOneQuery() throws Exception {
+        assertStatements(1, "/api/subscriptions");
+        assertStatements(1, "/api/subscriptions/customer/" + customer.getId());
+        assertStatements(1, "/api/subscriptions/service/" + service.getId());
+        assertStatements(1, "/api/subscriptions/provider/" + provider.getId());
+    }
+
+    @Test
+    void serviceListsAreOneQuery() throws Exception {
+        assertStatements(1, "/api/services");
+        assertStatements(1, "/api/services/provider/" + provider.getId());
+        assertStatements(1, "/api/services/catalog?limit=5");
+        assertStatements(1, "/api/services/catalog?serviceType=Plumbing&sort=price&limit=5");
+    }
+
+    @Test
+    void customerCollectionsLoadInBatches() throws Exception {
+        assertStatements(5, "/api/customers/" + customer.getId());
+    }
+
+    private void assertStatements(int budget, String uri) throws Exception {
+        queryCounter.start(0);
+        int statements;
+        try {
+            mockMvc.perform(get(uri)).andExpect(status().isOk());
+        } finally {
+            statements = queryCounter.stop();
+        }
+        assertThat(statements).as("SQL statements for GET %s", uri).isLessThanOrEqualTo(budget);
+    }
+}
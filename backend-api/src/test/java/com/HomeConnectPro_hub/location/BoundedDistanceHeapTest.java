@@ -0,0 +1,54 @@
+package com.HomeConnectPro_hub.location;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedDistanceHeapTest {
+
+    @Test
+    void keepsTheSmallestDistancesInOrder() {
+        Random random = new Random(11);
+        double[] distances = new double[5000];
+        for (int capacity : new int[] {1, 7, 64, 5000, 6000}) {
+            BoundedDistanceHeap heap = new BoundedDistanceHeap(capacity);
+            for (int i = 0; i < distances.length; i++) {
+                distances[i] = random.nextDouble() * 500;
+                heap.offer(i, distances[i]);
+            }
+
+            ServiceSpatialIndex.Hit[] hits = heap.drainSorted();
+
+            double[] expected = distances.clone();
+            Arrays.sort(expected);
+            expected = Arrays.copyOf(expected, Math.min(capacity, expected.length));
+            assertThat(hits).as("capacity %s", capacity).hasSize(expected.length);
+            for (int i = 0; i < hits.length; i++) {
+                assertThat(hits[i].distance()).isEqualTo(expected[i]);
+                assertThat(distances[(int) hits[i].serviceId()]).isEqualTo(hits[i].distance());
+            }
+            assertThat(heap.size()).isZero();
+        }
+    }
+
+    @Test
+    void worstDistanceIsInfiniteUntilFull() {
+        BoundedDistanceHeap heap = new BoundedDistanceHeap(2);
+        heap.offer(1, 3.0);
+        assertThat(heap.worstDistance()).isEqualTo(Double.POSITIVE_INFINITY);
+
+        heap.offer(2, 1.0);
+        heap.offer(3, 2.0);
+        assertThat(heap.worstDistance()).isEqualTo(2.0);
+        assertThat(heap.drainSorted()).extracting(ServiceSpatialIndex.Hit::serviceId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void rejectsZeroCapacity() {
+        assertThatThrownBy(() -> new BoundedDistanceHeap(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.HomeConnectPro_hub.location;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GazetteerTest {
+
+    private static final String PLACES = String.join("\n",
+            "# zip\tcity\tstate\tlatitude\tlongitude",
+            "27601\tRaleigh\tNC\t35.77\t-78.63",
+            "27603\tRaleigh\tNC\t35.71\t-78.66",
+            "27101\tWinston-Salem\tNC\t36.10\t-80.24",
+            "\tJacksonville\tNC\t34.75\t-77.43",
+            "\tJacksonville\tFL\t30.33\t-81.66",
+            "\tSalem\tOR\t44.94\t-123.03",
+            "\tNew York\tNY\t40.71\t-74.01",
+            "\tYork\tPA\t39.96\t-76.73",
+            "US\t10001\tNew York\tNew York\tNY\tNew York\t061\t\t\t40.75\t-73.99\t4",
+            "malformed line");
+
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() {
+        gazetteer = new Gazetteer(new ByteArrayResource(PLACES.getBytes(StandardCharsets.UTF_8)), "NC");
+    }
+
+    @Test
+    void zipCodeWinsOverCityName() {
+        assertLocation(gazetteer.lookup("100 Main St, Jacksonville, FL 27603"), 35.71, -78.66);
+        assertLocation(gazetteer.lookup("10001"), 40.75, -73.99);
+        assertThat(gazetteer.getStats()).containsEntry("zipCodes", 4);
+    }
+
+    @Test
+    void leadingHouseNumberIsNotAZip() {
+        // 27601 is a house number here, so the city decides
+        assertLocation(gazetteer.lookup("27601 Main St, Jacksonville, FL"), 30.33, -81.66);
+    }
+
+    @Test
+    void cityWithoutExplicitCentroidIsTheMeanOfItsZips() {
+        assertLocation(gazetteer.lookup("Raleigh"), 35.74, -78.645);
+    }
+
+    @Test
+    void sameNamedCitiesUseTheAddressStateThenTheDefault() {
+        assertLocation(gazetteer.lookup("1 Ocean Dr, Jacksonville, FL"), 30.33, -81.66);
+        assertLocation(gazetteer.lookup("Jacksonville"), 34.75, -77.43);
+        // Only one Salem: used even though it isn't in the default state
+        assertLocation(gazetteer.lookup("Salem"), 44.94, -123.03);
+    }
+
+    @Test
+    void longestAndRightMostNameMatches() {
+        // "New York" is longer than the "York" inside it
+        assertLocation(gazetteer.lookup("5th Ave, New York, NY"), 40.71, -74.01);
+        // Hyphens and spaces match the same name, and the right-most city wins over a street name
+        assertLocation(gazetteer.lookup("12 Salem St, Winston Salem"), 36.10, -80.24);
+        assertLocation(gazetteer.lookup("Winston-Salem, NC"), 36.10, -80.24);
+    }
+
+    @Test
+    void unknownOrPartialNamesDoNotMatch() {
+        assertThat(gazetteer.lookup("Durham, NC 27701")).isNull();
+        assertThat(gazetteer.lookup("Raleighwood")).isNull();
+        assertThat(gazetteer.lookup("...")).isNull();
+    }
+
+    private static void assertLocation(LocationService.GeoLocation location, double latitude, double longitude) {
+        assertThat(location).isNotNull();
+        assertThat(location.getLatitude()).isEqualTo(latitude);
+        assertThat(location.getLongitude()).isEqualTo(longitude);
+    }
+}
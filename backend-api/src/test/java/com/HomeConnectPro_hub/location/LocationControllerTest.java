@@ -0,0 +1,31 @@
+package com.HomeConnectPro_hub.location;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocationControllerTest {
+
+    @Test
+    void acceptsPositiveAscendingBands() {
+        assertThatCode(() -> withBands(5, 10, 25).validateDistanceBands()).doesNotThrowAnyException();
+        assertThatCode(() -> withBands(0.5).validateDistanceBands()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsBandsTheSummaryCantLabel() {
+        assertThatThrownBy(() -> withBands().validateDistanceBands()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> withBands(10, 5).validateDistanceBands()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> withBands(5, 5).validateDistanceBands()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> withBands(0, 5).validateDistanceBands()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> withBands(Double.NaN).validateDistanceBands()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static LocationController withBands(double... bands) {
+        LocationController controller = new LocationController(null, null, null, null, null, null, null, null);
+        ReflectionTestUtils.setField(controller, "distanceBands", bands);
+        return controller;
+    }
+}
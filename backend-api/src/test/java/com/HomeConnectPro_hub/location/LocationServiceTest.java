@@ -0,0 +1,59 @@
+package com.HomeConnectPro_hub.location;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LocationServiceTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private GeocodedAddressRepository repository;
+    private LocationService locationService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(GeocodedAddressRepository.class);
+        GeocodeCache cache = new GeocodeCache(repository, new MappedGeocodeStore("", 16), 100, 60, 10);
+        Gazetteer gazetteer = new Gazetteer(new ClassPathResource("gazetteer/us-places.tsv"), "NC");
+        // Cacheable like the default Google geocoder; knows one street only
+        Geocoder geocoder = address -> {
+            lookups.incrementAndGet();
+            return address.startsWith("100 Main St")
+                    ? GeocodeResult.ok(new LocationService.GeoLocation(35.78, -78.64, address))
+                    : GeocodeResult.of(GeocodeResult.Status.ZERO_RESULTS);
+        };
+        locationService = new LocationService(geocoder, cache, gazetteer, 4, 1000);
+    }
+
+    @Test
+    void punctuationOnlyAddressIsGeocodedWithoutTheCache() {
+        GeocodeResult result = locationService.resolveAddress("...");
+
+        assertThat(result.status()).isEqualTo(GeocodeResult.Status.ZERO_RESULTS);
+        assertThat(lookups).hasValue(1);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void unkeyableAddressesStillGetFallbackCoordinates() {
+        assertThat(locationService.geocodeAddress("...")).isNotNull();
+        assertThat(locationService.geocodeAddress("東京都")).isNotNull();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void repeatLookupIsAnsweredFromTheCache() {
+        GeocodeResult first = locationService.resolveAddress("100 Main St, Raleigh, NC");
+        GeocodeResult second = locationService.resolveAddress("100 MAIN ST.  Raleigh NC");
+
+        assertThat(first.isOk()).isTrue();
+        assertThat(second.location().getLatitude()).isEqualTo(first.location().getLatitude());
+        assertThat(lookups).hasValue(1);
+    }
+}
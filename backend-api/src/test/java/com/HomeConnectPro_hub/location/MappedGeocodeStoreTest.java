@@ -0,0 +1,144 @@
+package com.HomeConnectPro_hub.location;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedGeocodeStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void hitKeepsTheFormattedAddress() {
+        MappedGeocodeStore store = open(16);
+        store.put("100 main st raleigh nc", location(35.78, -78.64, "100 Main St, Raleigh, NC 27601, USA"));
+
+        LocationService.GeoLocation hit = store.get("100 main st raleigh nc");
+        assertThat(hit.getLatitude()).isEqualTo(35.78);
+        assertThat(hit.getLongitude()).isEqualTo(-78.64);
+        assertThat(hit.getFormattedAddress()).isEqualTo("100 Main St, Raleigh, NC 27601, USA");
+        assertThat(store.get("200 main st raleigh nc")).isNull();
+        store.close();
+    }
+
+    @Test
+    void overwriteReplacesCoordinatesAndAddress() {
+        MappedGeocodeStore store = open(16);
+        store.put("main st", location(1, 2, "Old"));
+        store.put("main st", location(3, 4, "Straße 5, München"));
+
+        LocationService.GeoLocation hit = store.get("main st");
+        assertThat(hit.getLatitude()).isEqualTo(3);
+        assertThat(hit.getFormattedAddress()).isEqualTo("Straße 5, München");
+        assertThat(store.getStats()).containsEntry("size", 1);
+        store.close();
+    }
+
+    @Test
+    void reopenedStoreAnswersFromTheFile() {
+        MappedGeocodeStore first = open(64);
+        for (int i = 0; i < 40; i++) {
+            first.put("address " + i, location(i, -i, "Address " + i));
+        }
+        first.close();
+
+        MappedGeocodeStore reopened = open(64);
+        assertThat(reopened.getStats()).containsEntry("size", 40);
+        for (int i = 0; i < 40; i++) {
+            LocationService.GeoLocation hit = reopened.get("address " + i);
+            assertThat(hit.getLatitude()).isEqualTo(i);
+            assertThat(hit.getFormattedAddress()).isEqualTo("Address " + i);
+        }
+        reopened.close();
+    }
+
+    @Test
+    void differentLayoutStartsEmpty() throws Exception {
+        MappedGeocodeStore small = open(16);
+        small.put("main st", location(1, 2, "Main St"));
+        small.close();
+
+        // Another capacity means another file size and slot count
+        MappedGeocodeStore larger = open(64);
+        assertThat(larger.get("main st")).isNull();
+        assertThat(larger.getStats()).containsEntry("size", 0);
+        larger.close();
+
+        // Same size, foreign contents
+        Path file = directory.resolve("geocode.store");
+        Files.write(file, new byte[(int) Files.size(file)]);
+        MappedGeocodeStore foreign = open(64);
+        assertThat(foreign.getStats()).containsEntry("size", 0);
+        foreign.put("main st", location(1, 2, "Main St"));
+        assertThat(foreign.get("main st")).isNotNull();
+        foreign.close();
+    }
+
+    @Test
+    void writesBeyondTheLoadFactorOrTextRegionAreRejected() {
+        MappedGeocodeStore store = open(16);
+        int slots = (int) store.getStats().get("capacity");
+        for (int i = 0; i < slots; i++) {
+            store.put("address " + i, location(i, i, "Address " + i));
+        }
+        assertThat(store.getStats()).containsEntry("size", slots * 3 / 4);
+        store.close();
+
+        MappedGeocodeStore roomy = new MappedGeocodeStore(directory.resolve("text.store").toString(), 16);
+        int textCapacity = (int) roomy.getStats().get("textBytesCapacity");
+        roomy.put("long", location(1, 1, "x".repeat(textCapacity + 1)));
+        assertThat(roomy.get("long")).isNull();
+        assertThat(roomy.getStats()).containsEntry("rejectedWrites", 1L);
+        roomy.close();
+    }
+
+    @Test
+    void disabledWithoutAPath() {
+        MappedGeocodeStore store = new MappedGeocodeStore("", 16);
+        store.put("main st", location(1, 2, "Main St"));
+        assertThat(store.isEnabled()).isFalse();
+        assertThat(store.get("main st")).isNull();
+    }
+
+    @Test
+    void readersNeverSeeATornRecord() throws Exception {
+        // 4096 slots leave 256 KB of text for the 20,000 rewrites below
+        MappedGeocodeStore store = open(4096);
+        store.put("main st", location(0, 0, "0"));
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong torn = new AtomicLong();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                LocationService.GeoLocation hit = store.get("main st");
+                if (hit != null && (hit.getLatitude() != -hit.getLongitude()
+                        || !hit.getFormattedAddress().equals(String.valueOf((long) hit.getLatitude())))) {
+                    torn.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 1; i <= 20_000; i++) {
+            store.put("main st", location(i, -i, String.valueOf(i)));
+        }
+        done.set(true);
+        reader.join();
+        assertThat(torn).hasValue(0);
+        store.close();
+    }
+
+    private MappedGeocodeStore open(int capacity) {
+        return new MappedGeocodeStore(directory.resolve("geocode.store").toString(), capacity);
+    }
+
+    private static LocationService.GeoLocation location(double latitude, double longitude, String formattedAddress) {
+        return new LocationService.GeoLocation(latitude, longitude, formattedAddress);
+    }
+}
@@ -0,0 +1,149 @@
+package com.HomeConnectPro_hub.location;
+
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderChangedEvent;
+import com.HomeConnectPro_hub.service.Service;
+import com.HomeConnectPro_hub.service.ServiceChangedEvent;
+import com.HomeConnectPro_hub.service.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceSpatialIndexTest {
+
+    private static final double RALEIGH_LAT = 35.7796;
+    private static final double RALEIGH_LNG = -78.6382;
+
+    private ServiceRepository repository;
+    private ServiceSpatialIndex index;
+    private List<Service> services;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ServiceRepository.class);
+        index = new ServiceSpatialIndex(repository, 0.1);
+
+        // Mostly within a few degrees of Raleigh, plus a few across the antimeridian and one unlocated
+        Random random = new Random(7);
+        services = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            double latitude = RALEIGH_LAT + (random.nextDouble() - 0.5) * 4;
+            double longitude = RALEIGH_LNG + (random.nextDouble() - 0.5) * 4;
+            services.add(service(id, id, latitude, longitude));
+        }
+        services.add(service(2001, 2001, 10.0, 179.95));
+        services.add(service(2002, 2002, 10.0, -179.95));
+        services.add(service(2003, 2003, null, null));
+        when(repository.findByActiveTrue()).thenReturn(services);
+        index.rebuild();
+    }
+
+    @Test
+    void radiusQueryMatchesBruteForce() {
+        for (double radius : new double[] {0.5, 5, 25, 100, 5000}) {
+            List<ServiceSpatialIndex.Hit> hits = index.findWithinRadius(RALEIGH_LAT, RALEIGH_LNG, radius);
+
+            List<Long> expected = located().stream()
+                    .filter(s -> distanceTo(s, RALEIGH_LAT, RALEIGH_LNG) <= radius)
+                    .map(Service::getId)
+                    .toList();
+            assertThat(hits).extracting(ServiceSpatialIndex.Hit::serviceId)
+                    .as("radius %s", radius)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(hits).isSortedAccordingTo(Comparator.comparingDouble(ServiceSpatialIndex.Hit::distance));
+        }
+    }
+
+    @Test
+    void radiusQueryCrossesTheAntimeridian() {
+        assertThat(index.findWithinRadius(10.0, 179.99, 10))
+                .extracting(ServiceSpatialIndex.Hit::serviceId)
+                .containsExactlyInAnyOrder(2001L, 2002L);
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        for (int k : new int[] {1, 10, 250, 5000}) {
+            List<ServiceSpatialIndex.Hit> nearest = index.findNearest(RALEIGH_LAT, RALEIGH_LNG, k);
+
+            List<Double> expected = located().stream()
+                    .map(s -> distanceTo(s, RALEIGH_LAT, RALEIGH_LNG))
+                    .sorted()
+                    .limit(k)
+                    .toList();
+            assertThat(nearest).as("k %s", k).hasSize(expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(nearest.get(i).distance()).isCloseTo(expected.get(i), within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void bandCountsMatchBruteForce() {
+        double[] bandLimits = {1, 5, 10, 25, 50, 100};
+        long[] counts = index.countByDistanceBand(RALEIGH_LAT, RALEIGH_LNG, bandLimits);
+
+        long[] expected = new long[bandLimits.length + 1];
+        for (Service service : located()) {
+            expected[ServiceSpatialIndex.band(distanceTo(service, RALEIGH_LAT, RALEIGH_LNG), bandLimits)]++;
+        }
+        assertThat(counts).containsExactly(expected);
+        assertThat(index.size()).isEqualTo(2002);
+        assertThat(index.getUnlocatedServiceIds()).containsExactly(2003L);
+    }
+
+    @Test
+    void changesMoveAndRemoveServices() {
+        Service moved = service(1, 1, 10.0, 179.99);
+        when(repository.findById(1L)).thenReturn(Optional.of(moved));
+        index.onServiceChanged(new ServiceChangedEvent(1L, ServiceChangedEvent.ChangeType.UPDATED));
+
+        assertThat(index.findWithinRadius(10.0, 179.99, 10))
+                .extracting(ServiceSpatialIndex.Hit::serviceId)
+                .containsExactlyInAnyOrder(1L, 2001L, 2002L);
+
+        Service located = service(2003, 2003, RALEIGH_LAT, RALEIGH_LNG);
+        when(repository.findByProviderId(2003L)).thenReturn(List.of(located));
+        index.onProviderChanged(new ProviderChangedEvent(2003L, false));
+        index.onServiceChanged(new ServiceChangedEvent(2L, ServiceChangedEvent.ChangeType.DELETED));
+
+        assertThat(index.getUnlocatedServiceIds()).isEmpty();
+        assertThat(index.findNearest(RALEIGH_LAT, RALEIGH_LNG, 1))
+                .extracting(ServiceSpatialIndex.Hit::serviceId)
+                .containsExactly(2003L);
+        assertThat(index.findWithinRadius(RALEIGH_LAT, RALEIGH_LNG, 5000))
+                .extracting(ServiceSpatialIndex.Hit::serviceId)
+                .doesNotContain(1L, 2L);
+    }
+
+    private List<Service> located() {
+        return services.stream()
+                .filter(s -> s.getProvider().getLatitude() != null)
+                .toList();
+    }
+
+    private static double distanceTo(Service service, double latitude, double longitude) {
+        Provider provider = service.getProvider();
+        return LocationService.haversineMiles(latitude, longitude, provider.getLatitude(), provider.getLongitude());
+    }
+
+    private static Service service(long id, long providerId, Double latitude, Double longitude) {
+        Provider provider = new Provider();
+        provider.setId(providerId);
+        provider.setLatitude(latitude);
+        provider.setLongitude(longitude);
+        Service service = new Service("Service " + id, "Description", 50.0, provider);
+        service.setId(id);
+        return service;
+    }
+}
@@ -0,0 +1,84 @@
+package com.HomeConnectPro_hub.review;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceRatingCacheTest {
+
+    private RatingSummaryRepository repository;
+    private ServiceRatingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RatingSummaryRepository.class);
+        RatingSummary summary = new RatingSummary(RatingSummary.Scope.SERVICE, 1L);
+        summary.setReviewCount(2);
+        summary.setRatingSum(8);
+        when(repository.findByScope(RatingSummary.Scope.SERVICE)).thenReturn(List.of(summary));
+        cache = new ServiceRatingCache(repository, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void committedDeltaIsAppliedWithoutReloading() {
+        cache.getSnapshot();
+
+        commit(() -> {
+            cache.applyDelta(1L, 1, 5);
+            cache.applyDelta(2L, 1, 3);
+        });
+
+        ServiceRatingCache.Snapshot snapshot = cache.getSnapshot();
+        assertThat(snapshot.get(1L)).isEqualTo(new ServiceRatingCache.Aggregate(3, 13));
+        assertThat(snapshot.get(2L)).isEqualTo(new ServiceRatingCache.Aggregate(1, 3));
+        assertThat(snapshot.globalAverage()).isEqualTo(4.0);
+        verify(repository, times(1)).findByScope(RatingSummary.Scope.SERVICE);
+    }
+
+    @Test
+    void removingTheLastReviewDropsTheAggregate() {
+        cache.getSnapshot();
+
+        commit(() -> cache.applyDelta(1L, -2, -8));
+
+        assertThat(cache.getSnapshot().get(1L)).isEqualTo(ServiceRatingCache.Aggregate.EMPTY);
+        assertThat(cache.getSnapshot().globalAverage()).isZero();
+    }
+
+    @Test
+    void rolledBackDeltaIsNotApplied() {
+        cache.getSnapshot();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.applyDelta(1L, 1, 5);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(cache.getSnapshot().get(1L)).isEqualTo(new ServiceRatingCache.Aggregate(2, 8));
+    }
+
+    private static void commit(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        work.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,151 @@
+package com.HomeConnectPro_hub.service;
+
+import com.HomeConnectPro_hub.provider.Provider;
+import com.HomeConnectPro_hub.provider.ProviderChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActiveServiceCatalogTest {
+
+    private final Provider provider = provider(1);
+
+    @Test
+    void applySpansBlockBoundaries() {
+        // 1023 and 1024 fall in neighbouring blocks; 5000 leaves several empty id ranges before it
+        ActiveServiceCatalog.Snapshot snapshot = ActiveServiceCatalog.Snapshot.EMPTY
+                .apply(1, Set.of(), services(1024, 5000, 1, 1023, 2047, 2048));
+
+        assertThat(ids(snapshot)).containsExactly(1L, 1023L, 1024L, 2047L, 2048L, 5000L);
+        assertThat(snapshot.summaries()).extracting(ServiceSummary::id).containsExactly(1L, 1023L, 1024L, 2047L, 2048L, 5000L);
+        assertThat(snapshot.version()).isEqualTo(1);
+        assertThat(snapshot.summary(1024).name()).isEqualTo("Service 1024");
+        assertThat(snapshot.summary(1025)).isNull();
+        assertThat(snapshot.summary(3000)).isNull();
+        assertThatThrownBy(() -> snapshot.services().get(6)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        ActiveServiceCatalog.Snapshot next = snapshot.apply(2, Set.of(1023L, 2048L), services(1022, 2049));
+        assertThat(ids(next)).containsExactly(1L, 1022L, 1024L, 2047L, 2049L, 5000L);
+        // The previous snapshot is untouched
+        assertThat(ids(snapshot)).containsExactly(1L, 1023L, 1024L, 2047L, 2048L, 5000L);
+    }
+
+    @Test
+    void emptiedBlocksAreDropped() {
+        ActiveServiceCatalog.Snapshot snapshot = ActiveServiceCatalog.Snapshot.EMPTY
+                .apply(1, Set.of(), services(1, 2, 1500, 9000));
+
+        ActiveServiceCatalog.Snapshot next = snapshot.apply(2, Set.of(1500L, 9000L, 12345L), List.of());
+        assertThat(ids(next)).containsExactly(1L, 2L);
+        assertThat(next.summary(1500)).isNull();
+        assertThat(next.services().get(1).getId()).isEqualTo(2L);
+
+        ActiveServiceCatalog.Snapshot empty = next.apply(3, Set.of(1L, 2L), List.of());
+        assertThat(empty.services()).isEmpty();
+        assertThat(empty.summary(1)).isNull();
+        assertThat(ids(empty.apply(4, Set.of(), services(1500)))).containsExactly(1500L);
+    }
+
+    @Test
+    void upsertReplacesAndRemoveThenAddKeepsTheService() {
+        ActiveServiceCatalog.Snapshot snapshot = ActiveServiceCatalog.Snapshot.EMPTY
+                .apply(1, Set.of(), services(10, 20));
+
+        Service renamed = service(10);
+        renamed.setName("Renamed");
+        ActiveServiceCatalog.Snapshot next = snapshot.apply(2, Set.of(10L), List.of(renamed));
+
+        assertThat(ids(next)).containsExactly(10L, 20L);
+        assertThat(next.summary(10).name()).isEqualTo("Renamed");
+        assertThat(snapshot.summary(10).name()).isEqualTo("Service 10");
+    }
+
+    @Test
+    void randomEditsMatchASortedMap() {
+        Random random = new Random(5);
+        TreeMap<Long, String> expected = new TreeMap<>();
+        ActiveServiceCatalog.Snapshot snapshot = ActiveServiceCatalog.Snapshot.EMPTY;
+        for (int round = 1; round <= 200; round++) {
+            List<Long> removed = new ArrayList<>();
+            List<Service> upserts = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                long id = 1 + random.nextInt(4096);
+                if (random.nextBoolean()) {
+                    removed.add(id);
+                    expected.remove(id);
+                } else {
+                    Service service = service(id);
+                    service.setName("Service " + id + " r" + round);
+                    upserts.removeIf(s -> s.getId() == id);
+                    upserts.add(service);
+                    removed.remove(id);
+                }
+            }
+            upserts.forEach(s -> expected.put(s.getId(), s.getName()));
+            snapshot = snapshot.apply(round, removed, upserts);
+
+            assertThat(ids(snapshot)).containsExactlyElementsOf(expected.keySet());
+            for (Long id : expected.keySet()) {
+                assertThat(snapshot.summary(id).name()).isEqualTo(expected.get(id));
+            }
+        }
+    }
+
+    @Test
+    void listenersApplyServiceAndProviderChanges() {
+        ServiceRepository repository = mock(ServiceRepository.class);
+        when(repository.findByActiveTrue()).thenReturn(services(1, 2, 1500));
+        ActiveServiceCatalog catalog = new ActiveServiceCatalog(repository, true);
+        catalog.load();
+        long loadedVersion = catalog.current().version();
+
+        Service deactivated = service(2);
+        deactivated.setActive(false);
+        when(repository.findById(2L)).thenReturn(Optional.of(deactivated));
+        catalog.onServiceChanged(new ServiceChangedEvent(2L, ServiceChangedEvent.ChangeType.DEACTIVATED));
+        assertThat(ids(catalog.current())).containsExactly(1L, 1500L);
+        assertThat(catalog.current().version()).isEqualTo(loadedVersion + 1);
+
+        // An inactive service that wasn't in the catalog doesn't publish a new version
+        catalog.onServiceChanged(new ServiceChangedEvent(2L, ServiceChangedEvent.ChangeType.UPDATED));
+        assertThat(catalog.current().version()).isEqualTo(loadedVersion + 1);
+
+        catalog.onProviderChanged(new ProviderChangedEvent(provider.getId(), true));
+        assertThat(catalog.current().services()).isEmpty();
+        assertThat(catalog.getStats()).containsEntry("blocks", 0).containsEntry("services", 0);
+    }
+
+    private List<Service> services(long... ids) {
+        List<Service> services = new ArrayList<>();
+        for (long id : ids) {
+            services.add(service(id));
+        }
+        return services;
+    }
+
+    private Service service(long id) {
+        Service service = new Service("Service " + id, "Description", 50.0, provider);
+        service.setId(id);
+        return service;
+    }
+
+    private static List<Long> ids(ActiveServiceCatalog.Snapshot snapshot) {
+        return snapshot.services().stream().map(Service::getId).toList();
+    }
+
+    private static Provider provider(long id) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        return provider;
+    }
+}
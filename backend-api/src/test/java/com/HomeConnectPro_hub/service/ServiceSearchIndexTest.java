@@ -0,0 +1,142 @@
+package com.HomeConnectPro_hub.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceSearchIndexTest {
+
+    private ServiceRepository repository;
+    private ServiceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ServiceRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                service(1, "Emergency Plumbing", "Plumbing", "Leaks, clogged drains and water heaters"),
+                service(2, "Deep House Cleaning", "Cleaning", "Kitchens, bathrooms and carpets"),
+                service(3, "Electrical Repair", "Electrical", "Outlets, wiring and lighting"),
+                service(4, "Carpet Cleaning", "Cleaning", "Steam cleaning for carpets and rugs")));
+        index = new ServiceSearchIndex(repository);
+        index.rebuild();
+    }
+
+    @Test
+    void editDistanceMatchesUnboundedDistanceUpToTheLimit() {
+        Random random = new Random(3);
+        for (int n = 0; n < 5000; n++) {
+            String a = randomWord(random);
+            String b = randomWord(random);
+            int expected = osaDistance(a, b);
+            for (int max = 0; max <= 3; max++) {
+                assertThat(ServiceSearchIndex.editDistance(a, b, max))
+                        .as("%s -> %s within %s", a, b, max)
+                        .isEqualTo(Math.min(expected, max + 1));
+            }
+        }
+    }
+
+    @Test
+    void editDistanceCountsEachKindOfEditOnce() {
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "plumbing", 2)).isZero();
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "plumbng", 2)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "plumbiing", 2)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "plunbing", 2)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "plubming", 2)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "pulbming", 2)).isEqualTo(2);
+        assertThat(ServiceSearchIndex.editDistance("plumbing", "cleaning", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void prefixEditDistanceMeasuresAgainstTheClosestPrefix() {
+        assertThat(ServiceSearchIndex.prefixEditDistance("elec", "electrical", 1)).isZero();
+        assertThat(ServiceSearchIndex.prefixEditDistance("elev", "electrical", 1)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.prefixEditDistance("eletr", "electrical", 1)).isEqualTo(1);
+        assertThat(ServiceSearchIndex.prefixEditDistance("ilic", "electrical", 1)).isEqualTo(2);
+    }
+
+    @Test
+    void exactWordsRankNameAboveDescription() {
+        assertThat(ids(index.search("carpet", 10))).containsExactly(4L, 2L);
+        assertThat(ids(index.search("cleaning carpets", 10))).first().isEqualTo(4L);
+    }
+
+    @Test
+    void misspelledWordsMatchWithinTheirEditBudget() {
+        assertThat(ids(index.search("plumbng", 10))).containsExactly(1L);
+        assertThat(ids(index.search("electircal repair", 10))).containsExactly(3L);
+        // Three letters allow no typos
+        assertThat(index.search("rag", 10)).isEmpty();
+    }
+
+    @Test
+    void lastWordMatchesAsAPrefixWithTypos() {
+        assertThat(ids(index.search("elec", 10))).containsExactly(3L);
+        assertThat(ids(index.search("emergency plum", 10))).containsExactly(1L);
+        assertThat(ids(index.search("eletr", 10))).containsExactly(3L);
+        // Only the last word is a prefix
+        assertThat(index.search("elec repair", 10)).extracting(ServiceSearchIndex.Hit::serviceId).containsExactly(3L);
+        assertThat(index.search("elec", 10).get(0).score())
+                .isLessThan(index.search("electrical", 10).get(0).score());
+    }
+
+    @Test
+    void changesUpdateTheIndex() {
+        when(repository.findById(3L)).thenReturn(Optional.of(service(3, "Roof Repair", "Roofing", "Shingles")));
+        index.onServiceChanged(new ServiceChangedEvent(3L, ServiceChangedEvent.ChangeType.UPDATED));
+        index.onServiceChanged(new ServiceChangedEvent(4L, ServiceChangedEvent.ChangeType.DELETED));
+
+        assertThat(index.search("electrical", 10)).isEmpty();
+        assertThat(ids(index.search("roof", 10))).containsExactly(3L);
+        assertThat(ids(index.search("carpet", 10))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(List<ServiceSearchIndex.Hit> hits) {
+        return hits.stream().map(ServiceSearchIndex.Hit::serviceId).toList();
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[random.nextInt(7)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    /**
+     * Reference optimal string alignment distance over the full matrix
+     */
+    private static int osaDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static Service service(long id, String name, String serviceType, String description) {
+        Service service = new Service(name, description, 50.0, null);
+        service.setId(id);
+        service.setServiceType(serviceType);
+        return service;
+    }
+}
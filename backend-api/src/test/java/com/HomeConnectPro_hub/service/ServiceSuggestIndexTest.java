@@ -0,0 +1,118 @@
+package com.HomeConnectPro_hub.service;
+
+import com.HomeConnectPro_hub.subscription.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceSuggestIndexTest {
+
+    private ServiceRepository serviceRepository;
+    private SubscriptionRepository subscriptionRepository;
+    private ServiceSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        when(serviceRepository.findByActiveTrue()).thenReturn(List.of(
+                service(1, "Drain Cleaning", "Plumbing", true),
+                service(2, "Water Heater Repair", "Plumbing", true),
+                service(3, "Deep Cleaning", "Cleaning", true)));
+        when(subscriptionRepository.countGroupedByServiceId()).thenReturn(counts(1L, 5L, 2L, 3L, 3L, 10L));
+        index = new ServiceSuggestIndex(serviceRepository, subscriptionRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void completionsSumTheServicesBehindThem() {
+        assertThat(index.suggest("pl", 10)).containsExactly(
+                new ServiceSuggestIndex.Suggestion("Plumbing", ServiceSuggestIndex.Kind.TYPE, 8, 2));
+        // Name and type completions are kept apart, most subscribed first
+        assertThat(index.suggest("  D ", 10)).containsExactly(
+                new ServiceSuggestIndex.Suggestion("Deep Cleaning", ServiceSuggestIndex.Kind.NAME, 10, 1),
+                new ServiceSuggestIndex.Suggestion("Drain Cleaning", ServiceSuggestIndex.Kind.NAME, 5, 1));
+        assertThat(index.suggest("d", 1)).extracting(ServiceSuggestIndex.Suggestion::text)
+                .containsExactly("Deep Cleaning");
+    }
+
+    @Test
+    void activatingAServiceCountsItUp() {
+        when(serviceRepository.findById(4L)).thenReturn(Optional.of(service(4, "Pipe Repair", "plumbing", true)));
+        when(subscriptionRepository.countByServiceId(4L)).thenReturn(7L);
+        index.onServiceChanged(new ServiceChangedEvent(4L, ServiceChangedEvent.ChangeType.ACTIVATED));
+
+        // Case-insensitive, so the type joins the existing completion under its first spelling
+        assertThat(index.suggest("plumb", 10)).containsExactly(
+                new ServiceSuggestIndex.Suggestion("Plumbing", ServiceSuggestIndex.Kind.TYPE, 15, 3));
+        assertThat(index.suggest("pipe", 10)).extracting(ServiceSuggestIndex.Suggestion::subscriptions)
+                .containsExactly(7L);
+        assertThat(index.getStats()).containsEntry("services", 4);
+    }
+
+    @Test
+    void deactivatingServicesCountsThemDownAndDropsEmptyCompletions() {
+        when(serviceRepository.findById(1L)).thenReturn(Optional.of(service(1, "Drain Cleaning", "Plumbing", false)));
+        index.onServiceChanged(new ServiceChangedEvent(1L, ServiceChangedEvent.ChangeType.DEACTIVATED));
+
+        assertThat(index.suggest("plumbing", 10)).containsExactly(
+                new ServiceSuggestIndex.Suggestion("Plumbing", ServiceSuggestIndex.Kind.TYPE, 3, 1));
+        assertThat(index.suggest("drain", 10)).isEmpty();
+
+        index.onServiceChanged(new ServiceChangedEvent(2L, ServiceChangedEvent.ChangeType.DELETED));
+        assertThat(index.suggest("pl", 10)).isEmpty();
+        // Deactivating again changes nothing
+        index.onServiceChanged(new ServiceChangedEvent(1L, ServiceChangedEvent.ChangeType.DEACTIVATED));
+        assertThat(index.getStats()).containsEntry("services", 1).containsEntry("completions", 2);
+    }
+
+    @Test
+    void renamingMovesTheCountsToTheNewText() {
+        when(serviceRepository.findById(2L)).thenReturn(Optional.of(service(2, "Tankless Heaters", "Plumbing", true)));
+        when(subscriptionRepository.countByServiceId(2L)).thenReturn(4L);
+        index.onServiceChanged(new ServiceChangedEvent(2L, ServiceChangedEvent.ChangeType.UPDATED));
+
+        assertThat(index.suggest("water", 10)).isEmpty();
+        assertThat(index.suggest("tank", 10)).extracting(ServiceSuggestIndex.Suggestion::text)
+                .containsExactly("Tankless Heaters");
+        assertThat(index.suggest("plumbing", 10)).extracting(ServiceSuggestIndex.Suggestion::subscriptions)
+                .containsExactly(9L);
+    }
+
+    @Test
+    void refreshReweightsWithoutRereadingServices() {
+        when(subscriptionRepository.countGroupedByServiceId()).thenReturn(counts(2L, 1L));
+        index.refreshWeights();
+
+        assertThat(index.suggest("plumbing", 10)).containsExactly(
+                new ServiceSuggestIndex.Suggestion("Plumbing", ServiceSuggestIndex.Kind.TYPE, 1, 2));
+        assertThat(index.suggest("d", 10)).extracting(ServiceSuggestIndex.Suggestion::subscriptions)
+                .containsExactly(0L, 0L);
+    }
+
+    /**
+     * Rows of (service id, subscription count) as countGroupedByServiceId returns them
+     */
+    private static List<Object[]> counts(Long... idsAndCounts) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < idsAndCounts.length; i += 2) {
+            rows.add(new Object[]{idsAndCounts[i], idsAndCounts[i + 1]});
+        }
+        return rows;
+    }
+
+    private static Service service(long id, String name, String serviceType, boolean active) {
+        Service service = new Service(name, "Description", 50.0, null);
+        service.setId(id);
+        service.setServiceType(serviceType);
+        service.setActive(active);
+        return service;
+    }
+}
@@ -0,0 +1,57 @@
+package com.HomeConnectPro_hub.location;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation behind HaversineKernel.
+ * 
+ * Lives in src/vector/java and is only compiled with the vector Maven profile
+ * (mvn -Pvector), which adds jdk.incubator.vector to the compiler, tests and
+ * spring-boot:run. HaversineKernel finds it by name once it has confirmed the
+ * module is present at runtime, so nothing else may reference this class.
+ */
+final class VectorHaversineKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double RADIANS_PER_DEGREE = Math.PI / 180.0;
+
+    private VectorHaversineKernel() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    static void distances(double originLatitude, double originLongitude,
+                          double[] latitudes, double[] longitudes, int length, double[] out) {
+        double lat1 = originLatitude * RADIANS_PER_DEGREE;
+        double lng1 = originLongitude * RADIANS_PER_DEGREE;
+        double cosLat1 = Math.cos(lat1);
+        double diameter = 2 * LocationService.EARTH_RADIUS_MILES;
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector lat2 = DoubleVector.fromArray(SPECIES, latitudes, i).mul(RADIANS_PER_DEGREE);
+            DoubleVector lng2 = DoubleVector.fromArray(SPECIES, longitudes, i).mul(RADIANS_PER_DEGREE);
+
+            DoubleVector sinHalfDLat = lat2.sub(lat1).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinHalfDLng = lng2.sub(lng1).mul(0.5).lanewise(VectorOperators.SIN);
+
+            DoubleVector a = lat2.lanewise(VectorOperators.COS).mul(cosLat1)
+                    .mul(sinHalfDLng.mul(sinHalfDLng))
+                    .add(sinHalfDLat.mul(sinHalfDLat))
+                    .min(1.0);
+
+            a.lanewise(VectorOperators.SQRT)
+                    .lanewise(VectorOperators.ASIN)
+                    .mul(diameter)
+                    .intoArray(out, i);
+        }
+
+        // Remaining tail that doesn't fill a whole vector
+        HaversineKernel.scalarDistances(originLatitude, originLongitude, latitudes, longitudes, i, length, out);
+    }
+}